@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.lang.model.util.Types;
 
@@ -32,6 +34,13 @@ import org.revapi.classland.impl.TypeLookup;
 import org.revapi.classland.impl.TypePool;
 import org.revapi.classland.impl.TypesImpl;
 
+/**
+ * The entry point to the {@link javax.lang.model} model of a set of archives.
+ *
+ * The instances are thread-safe. The elements and types they provide can be used from any number of threads at once,
+ * including the first use that lazily initializes them. Each element is instantiated only once, so all the threads see
+ * the same instances.
+ */
 public final class Classland implements AutoCloseable {
     private final TypeLookup lookup;
     private final ElementsImpl elements;
@@ -71,6 +80,7 @@ public final class Classland implements AutoCloseable {
         private final List<String> modules = new ArrayList<>();
         private final List<Archive> archives = new ArrayList<>();
         private final List<ModuleResolver> moduleResolvers = new ArrayList<>();
+        private Executor executor = ForkJoinPool.commonPool();
 
         public Builder withModules(boolean value) {
             this.analyzeModules = value;
@@ -97,6 +107,18 @@ public final class Classland implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Sets the executor used to scan the added archives in parallel when building the Classland instance. By
+         * default, the common fork-join pool is used.
+         *
+         * @param executor
+         *            the executor to use
+         */
+        public Builder withExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
         /**
          * Registers a module resolver with Classland.
          *
@@ -159,9 +181,7 @@ public final class Classland implements AutoCloseable {
 
         public Classland build() {
             TypePool typePool = new TypePool(analyzeModules);
-            for (Archive a : archives) {
-                typePool.registerArchive(a);
-            }
+            typePool.registerArchives(archives, executor);
 
             for (ModuleResolver r : moduleResolvers) {
                 typePool.registerModuleResolver(r);
@@ -16,6 +16,13 @@
  */
 package org.revapi.classland;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 
@@ -54,6 +61,143 @@ public interface ClasslandElements extends Elements {
     @Nullable
     TypeElement getTypeElementByBinaryName(String moduleName, String binaryName);
 
+    /**
+     * Looks up several types by their binary names at once. This is more efficient than calling
+     * {@link #getTypeElementByBinaryName(String)} for each of the names separately.
+     *
+     * @param binaryNames
+     *            the binary names of the classes to look up
+     *
+     * @return the types keyed by their binary names, in the iteration order of the provided names. The values are the
+     *         same as {@link #getTypeElementByBinaryName(String)} would return for each of the names.
+     */
+    Map<String, TypeElement> getTypeElementsByBinaryName(Collection<String> binaryNames);
+
+    /**
+     * Similar to {@link #getTypeElementsByBinaryName(Collection)} but looks up the types from the provided module.
+     *
+     * @param moduleName
+     *            the name of the module to look up the types from
+     * @param binaryNames
+     *            the binary names of the classes to look up
+     *
+     * @return the types keyed by their binary names, in the iteration order of the provided names, or an empty map if
+     *         the module is unknown
+     */
+    Map<String, TypeElement> getTypeElementsByBinaryName(String moduleName, Collection<String> binaryNames);
+
+    /**
+     * Finds all the types in packages matching the package glob with the names matching the type glob. The matching is
+     * done on the contents of the archives, so only the matching types are ever loaded.
+     *
+     * In the globs, {@code ?} matches any single character except for a dot, {@code *} matches any number of characters
+     * except for dots and {@code **} matches any number of any characters. A trailing {@code .**} in the package glob
+     * also matches the package without it. E.g. {@code findTypes("com.acme.**", "*Service")}.
+     *
+     * @param packageGlob
+     *            the glob to match the fully qualified package names against
+     * @param typeGlob
+     *            the glob to match the binary names of the types relative to their package against (e.g.
+     *            {@code Outer$Inner})
+     * 
+     * @return a stream of matching types from all the modules
+     */
+    Stream<TypeElement> findTypes(String packageGlob, String typeGlob);
+
+    /**
+     * Same as {@link #findTypes(String, String)} but using regular expressions for matching the names.
+     *
+     * @param packageName
+     *            the pattern the fully qualified package names need to match
+     * @param typeName
+     *            the pattern the binary names of the types relative to their package need to match
+     * 
+     * @return a stream of matching types from all the modules
+     */
+    Stream<TypeElement> findTypes(Pattern packageName, Pattern typeName);
+
+    /**
+     * Finds the types that directly extend or implement the provided type. The subtypes are looked up in an index built
+     * from the class headers of the archives when first needed, so only the found types are ever loaded.
+     *
+     * @param type
+     *            the supertype
+     *
+     * @return a stream of the direct subtypes from all the modules in which the type is visible
+     */
+    Stream<TypeElement> getDirectSubtypes(TypeElement type);
+
+    /**
+     * Same as {@link #getDirectSubtypes(TypeElement)} but also includes the subtypes of the subtypes, recursively. The
+     * hierarchy is traversed breadth first and only as far as the stream is consumed.
+     *
+     * @param type
+     *            the supertype
+     *
+     * @return a stream of all the subtypes, each of them reported once
+     */
+    Stream<TypeElement> getAllSubtypes(TypeElement type);
+
+    /**
+     * Finds all the elements annotated with the annotation of the provided binary name. The usages of the annotations
+     * are looked up in an index built from the class files of the archives when first needed, so only the annotated
+     * elements are ever loaded and the annotation type itself doesn't even need to be available.
+     *
+     * Both the declaration and type annotations are considered. A type annotation is reported on the parameter whose
+     * type it annotates or otherwise on the field, method or type whose declaration contains the annotated type.
+     *
+     * @param binaryName
+     *            the binary name of the annotation type, e.g. {@code java.lang.Deprecated}
+     *
+     * @return a stream of the annotated types, packages, fields, methods and parameters from all the modules
+     */
+    Stream<Element> getElementsAnnotatedWith(String binaryName);
+
+    /**
+     * Checks whether the element is annotated with the annotation of the provided binary name. This is decided from the
+     * class files alone, so unlike going through the {@link Element#getAnnotationMirrors() annotation mirrors}, it
+     * neither creates the annotations nor resolves their types.
+     *
+     * @param element
+     *            the element to check
+     * @param binaryName
+     *            the binary name of the annotation type
+     *
+     * @return true if the annotation is present on the element
+     */
+    boolean isAnnotatedWith(Element element, String binaryName);
+
+    /**
+     * Same as {@link #isAnnotatedWith(Element, String)} but also checks the annotations of the annotation types,
+     * recursively. E.g. an element annotated with {@code @Documented} is meta-annotated with {@code @Retention}. Only
+     * the annotation types on the way are resolved, not the annotations themselves.
+     *
+     * @param element
+     *            the element to check
+     * @param binaryName
+     *            the binary name of the annotation type
+     *
+     * @return true if the annotation is present on the element or on any of its (meta-)annotation types
+     */
+    boolean isMetaAnnotatedWith(Element element, String binaryName);
+
+    /**
+     * Streams all the elements of all the modules. Each module is followed by its packages, each package by its types
+     * and each type by all its enclosed elements, recursively. This is the same as walking the
+     * {@link javax.lang.model.element.Element#getEnclosedElements() enclosed elements} of every module.
+     *
+     * The stream splits by modules, then by packages and then by types, so a {@link Stream#parallel() parallel} version
+     * of it can process the whole model on all the available cores.
+     *
+     * @param ordered
+     *            if true, the stream has a deterministic encounter order - the modules and the packages are sorted by
+     *            their names, the types by their binary names and the members of types are in the order of declaration.
+     *            Otherwise the encounter order is undefined, which is cheaper.
+     *
+     * @return a sequential stream of all the elements
+     */
+    Stream<Element> streamElements(boolean ordered);
+
     /**
      * Finds the archive from which a type was loaded.
      * 
@@ -76,4 +220,15 @@ public interface ClasslandElements extends Elements {
      */
     @Nullable
     Archive getModuleArchive(String moduleName);
+
+    /**
+     * Reports the types that were referenced from the inspected class files so far but couldn't be found in any of the
+     * archives. The report only grows as more of the type universe is inspected. The types explicitly looked up using
+     * the methods of this interface, like {@link #getTypeElementByBinaryName(String)}, are not reported even if they
+     * are missing, so that the report only ever contains the dependencies of the archives.
+     *
+     * @return a map of the binary names of the missing types to the names of the modules from which they were looked
+     *         up. The unnamed module is represented by an empty string.
+     */
+    Map<String, Set<String>> getMissingTypes();
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl;
+
+import java.util.Objects;
+
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * A place in a class file where an annotation is used. This is read directly from the class file without creating any
+ * elements, so it only carries the names and descriptors necessary to find the annotated element later.
+ *
+ * The type annotations are attributed to the closest element - the parameter for the annotations on the types of the
+ * formal parameters, otherwise the field, method or class that contains the annotated type.
+ */
+public final class AnnotationUsage {
+    private final String typeInternalName;
+    private final @Nullable String memberName;
+    private final @Nullable String memberDescriptor;
+    private final int parameterIndex;
+
+    AnnotationUsage(String typeInternalName, @Nullable String memberName, @Nullable String memberDescriptor,
+            int parameterIndex) {
+        this.typeInternalName = typeInternalName;
+        this.memberName = memberName;
+        this.memberDescriptor = memberDescriptor;
+        this.parameterIndex = parameterIndex;
+    }
+
+    /**
+     * @return the internal name of the annotated type or the type that contains the annotated member. For the
+     *         annotations of packages this is the internal name of the {@code package-info} class.
+     */
+    public String getTypeInternalName() {
+        return typeInternalName;
+    }
+
+    /**
+     * @return the name of the annotated field or method or null if the type itself is annotated
+     */
+    public @Nullable String getMemberName() {
+        return memberName;
+    }
+
+    /**
+     * @return the descriptor of the annotated field or method or null if the type itself is annotated
+     */
+    public @Nullable String getMemberDescriptor() {
+        return memberDescriptor;
+    }
+
+    /**
+     * @return the index of the annotated parameter of the method or -1 if the annotation is not on a parameter
+     */
+    public int getParameterIndex() {
+        return parameterIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        AnnotationUsage that = (AnnotationUsage) o;
+        return parameterIndex == that.parameterIndex && typeInternalName.equals(that.typeInternalName)
+                && Objects.equals(memberName, that.memberName)
+                && Objects.equals(memberDescriptor, that.memberDescriptor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(typeInternalName, memberName, memberDescriptor, parameterIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationUsage{" + "typeInternalName='" + typeInternalName + '\'' + ", memberName='" + memberName
+                + '\'' + ", memberDescriptor='" + memberDescriptor + '\'' + ", parameterIndex=" + parameterIndex + '}';
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.TypePath;
+import org.objectweb.asm.TypeReference;
+import org.revapi.classland.impl.util.Asm;
+
+/**
+ * Collects the descriptors of the annotations used in a class file together with their {@link AnnotationUsage usages}.
+ * Only the annotations themselves are visited, not their values, so that the scan is cheap enough to be done over whole
+ * archives. The class file should be read with {@link org.objectweb.asm.ClassReader#SKIP_CODE} so that the annotations
+ * on the instructions and local variables are not reported.
+ */
+final class AnnotationUsageScanner extends ClassVisitor {
+    private final Map<String, Set<AnnotationUsage>> usages;
+    private String className;
+
+    AnnotationUsageScanner(Map<String, Set<AnnotationUsage>> usages) {
+        super(Asm.VERSION);
+        this.usages = usages;
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+        className = name;
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+        add(descriptor, new AnnotationUsage(className, null, null, -1));
+        return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
+        add(descriptor, new AnnotationUsage(className, null, null, -1));
+        return null;
+    }
+
+    @Override
+    public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+        AnnotationUsage usage = new AnnotationUsage(className, name, descriptor, -1);
+        return new FieldVisitor(api) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                add(annotationDescriptor, usage);
+                return null;
+            }
+
+            @Override
+            public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String annotationDescriptor,
+                    boolean visible) {
+                add(annotationDescriptor, usage);
+                return null;
+            }
+        };
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+            String[] exceptions) {
+        AnnotationUsage usage = new AnnotationUsage(className, name, descriptor, -1);
+        return new MethodVisitor(api) {
+            int visibleParameterShift;
+            int invisibleParameterShift;
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                add(annotationDescriptor, usage);
+                return null;
+            }
+
+            @Override
+            public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String annotationDescriptor,
+                    boolean visible) {
+                TypeReference ref = new TypeReference(typeRef);
+                if (ref.getSort() == TypeReference.METHOD_FORMAL_PARAMETER) {
+                    add(annotationDescriptor, parameter(ref.getFormalParameterIndex()));
+                } else {
+                    add(annotationDescriptor, usage);
+                }
+                return null;
+            }
+
+            @Override
+            public void visitAnnotableParameterCount(int parameterCount, boolean visible) {
+                // same as in AnnotationSource.fromMethodParameter - the synthetic parameters at the start of
+                // the parameter list may not be annotable
+                int shift = Type.getArgumentTypes(descriptor).length - parameterCount;
+                if (visible) {
+                    visibleParameterShift = shift;
+                } else {
+                    invisibleParameterShift = shift;
+                }
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int parameter, String annotationDescriptor,
+                    boolean visible) {
+                add(annotationDescriptor,
+                        parameter(parameter + (visible ? visibleParameterShift : invisibleParameterShift)));
+                return null;
+            }
+
+            private AnnotationUsage parameter(int index) {
+                return new AnnotationUsage(className, name, descriptor, index);
+            }
+        };
+    }
+
+    private void add(String descriptor, AnnotationUsage usage) {
+        usages.computeIfAbsent(descriptor, __ -> new LinkedHashSet<>()).add(usage);
+    }
+}
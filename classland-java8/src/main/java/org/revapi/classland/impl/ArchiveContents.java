@@ -16,15 +16,26 @@
  */
 package org.revapi.classland.impl;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableMap;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.jar.Attributes;
 
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
 import org.revapi.classland.archive.Archive;
 import org.revapi.classland.archive.ClassData;
 import org.revapi.classland.impl.util.Nullable;
@@ -32,10 +43,18 @@ import org.revapi.classland.impl.util.Nullable;
 public class ArchiveContents {
     private static final int PACKAGE_INFO_NAME_LENGTH = "package-info".length();
     private final Archive source;
+    // the fields below are only ever modified under the lock before the respective volatile flag is set, so all the
+    // threads that saw the flag also see their final state. After that they are only ever read.
     private volatile boolean scanned = false;
     private volatile boolean moduleInfoInitialized = false;
     private final Map<String, @Nullable ClassData> packages = new HashMap<>();
     private final Map<String, Set<ClassData>> classes = new HashMap<>();
+    private final Map<String, ClassData> classesByName = new HashMap<>();
+    private final Map<String, @Nullable ClassData> publishedPackages = unmodifiableMap(packages);
+    private final Map<String, Set<ClassData>> publishedClasses = unmodifiableMap(classes);
+    private volatile @Nullable Map<String, List<String>> classesByQualifiedName;
+    private volatile @Nullable Map<String, List<String>> directSubtypes;
+    private volatile @Nullable Map<String, Set<AnnotationUsage>> annotationUsages;
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     private Optional<ClassData> module;
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -51,7 +70,7 @@ public class ArchiveContents {
 
     public Map<String, @Nullable ClassData> getPackages() {
         scan();
-        return packages;
+        return publishedPackages;
     }
 
     public Optional<ClassData> getModule() {
@@ -69,7 +88,151 @@ public class ArchiveContents {
      */
     public Map<String, Set<ClassData>> getTypes() {
         scan();
-        return classes;
+        return publishedClasses;
+    }
+
+    /**
+     * Looks up the class data of a type.
+     *
+     * @param internalName
+     *            the internal name of the type
+     * 
+     * @return the class data or null if the archive doesn't contain such type
+     */
+    public @Nullable ClassData getClassData(String internalName) {
+        scan();
+        return classesByName.get(internalName);
+    }
+
+    /**
+     * Returns the internal names of the types in this archive that can possibly have the provided fully qualified name.
+     * The qualified names cannot be reliably determined without parsing the classes, so the caller needs to check the
+     * actual qualified name of the types. Local and anonymous classes may also be among the candidates even though they
+     * have no qualified name.
+     *
+     * @param qualifiedName
+     *            the fully qualified name of the type
+     * 
+     * @return the internal names of the candidate types
+     */
+    public List<String> getTypeCandidates(CharSequence qualifiedName) {
+        Map<String, List<String>> index = classesByQualifiedName;
+        if (index == null) {
+            scan();
+            synchronized (classes) {
+                index = classesByQualifiedName;
+                if (index == null) {
+                    index = new HashMap<>(classesByName.size());
+                    for (String name : classesByName.keySet()) {
+                        index.merge(normalizeQualifiedName(name), singletonList(name), (a, b) -> {
+                            List<String> ret = new ArrayList<>(a);
+                            ret.addAll(b);
+                            return ret;
+                        });
+                    }
+                    classesByQualifiedName = index;
+                }
+            }
+        }
+
+        return index.getOrDefault(normalizeQualifiedName(qualifiedName), emptyList());
+    }
+
+    /**
+     * Returns the internal names of the types in this archive that directly extend or implement the type with the
+     * provided internal name. The index of the subtypes is built from the headers of all the classes in the archive the
+     * first time it is needed, but none of the classes is parsed fully.
+     *
+     * Like in {@link org.revapi.classland.impl.model.element.TypeElementBase#getSuperclassElement()}, the interfaces
+     * are not considered subtypes of {@code java.lang.Object}.
+     *
+     * @param internalName
+     *            the internal name of the supertype
+     *
+     * @return the internal names of the direct subtypes
+     */
+    public List<String> getDirectSubtypes(String internalName) {
+        Map<String, List<String>> index = directSubtypes;
+        if (index == null) {
+            scan();
+            synchronized (classes) {
+                index = directSubtypes;
+                if (index == null) {
+                    index = new HashMap<>();
+                    for (ClassData cd : classesByName.values()) {
+                        ClassReader header = read(cd);
+                        if ((header.getAccess() & Opcodes.ACC_INTERFACE) == 0 && header.getSuperName() != null) {
+                            index.computeIfAbsent(header.getSuperName(), __ -> new ArrayList<>(1)).add(cd.getName());
+                        }
+                        for (String iface : header.getInterfaces()) {
+                            index.computeIfAbsent(iface, __ -> new ArrayList<>(1)).add(cd.getName());
+                        }
+                    }
+                    directSubtypes = index;
+                }
+            }
+        }
+
+        return index.getOrDefault(internalName, emptyList());
+    }
+
+    /**
+     * Returns the places in this archive where the annotation with the provided descriptor is used. The index of the
+     * annotations is built by a single pass over all the classes in the archive, including the {@code package-info}
+     * classes, the first time it is needed. Neither the method bodies nor the values of the annotations are read.
+     *
+     * @param annotationDescriptor
+     *            the descriptor of the annotation type, e.g. {@code Ljava/lang/Deprecated;}
+     *
+     * @return the usages of the annotation
+     */
+    public Collection<AnnotationUsage> getAnnotationUsages(String annotationDescriptor) {
+        Map<String, Set<AnnotationUsage>> index = annotationUsages;
+        if (index == null) {
+            scan();
+            synchronized (classes) {
+                index = annotationUsages;
+                if (index == null) {
+                    index = new HashMap<>();
+                    AnnotationUsageScanner scanner = new AnnotationUsageScanner(index);
+                    int flags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+                    for (ClassData cd : packages.values()) {
+                        if (cd != null) {
+                            read(cd).accept(scanner, flags);
+                        }
+                    }
+                    for (ClassData cd : classesByName.values()) {
+                        read(cd).accept(scanner, flags);
+                    }
+                    annotationUsages = index;
+                }
+            }
+        }
+
+        return index.getOrDefault(annotationDescriptor, emptySet());
+    }
+
+    private static ClassReader read(ClassData data) {
+        // the class reader only parses the constant pool and the header eagerly
+        try (InputStream in = data.read()) {
+            return new ClassReader(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read class " + data.getName() + ".", e);
+        }
+    }
+
+    /**
+     * The qualified name of a member class is the name of its enclosing class plus the simple name, while the binary
+     * name usually uses '$' as the separator. We therefore treat both '$' and '.' (or '/') as the same character so
+     * that the simple names that themselves contain '$' are found, too.
+     */
+    private static String normalizeQualifiedName(CharSequence name) {
+        char[] chars = new char[name.length()];
+        for (int i = 0; i < chars.length; ++i) {
+            char c = name.charAt(i);
+            chars[i] = c == '/' || c == '$' ? '.' : c;
+        }
+        return new String(chars);
     }
 
     private void initModuleInfo() {
@@ -121,6 +284,7 @@ public class ArchiveContents {
                         packages.put(pkgName, null);
                     }
                     classes.computeIfAbsent(pkgName, __ -> new HashSet<>()).add(cd);
+                    classesByName.putIfAbsent(name, cd);
                 }
             }
 
@@ -16,17 +16,29 @@
  */
 package org.revapi.classland.impl;
 
-import static org.revapi.classland.impl.util.MemoizedFunction.memoize;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
@@ -40,75 +52,50 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
-import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 
+import org.objectweb.asm.Type;
 import org.revapi.classland.ClasslandElements;
 import org.revapi.classland.PrettyPrinting;
 import org.revapi.classland.archive.Archive;
 import org.revapi.classland.impl.model.NameImpl;
 import org.revapi.classland.impl.model.element.ElementImpl;
-import org.revapi.classland.impl.model.element.MissingTypeImpl;
+import org.revapi.classland.impl.model.element.ExecutableElementBase;
+import org.revapi.classland.impl.model.element.ExecutableElementImpl;
+import org.revapi.classland.impl.model.element.MemberTable;
 import org.revapi.classland.impl.model.element.ModuleElementImpl;
+import org.revapi.classland.impl.model.element.PackageElementImpl;
 import org.revapi.classland.impl.model.element.TypeElementBase;
 import org.revapi.classland.impl.model.element.TypeElementImpl;
 import org.revapi.classland.impl.model.mirror.TypeMirrorImpl;
-import org.revapi.classland.impl.util.MemoizedFunction;
+import org.revapi.classland.impl.util.BoundedMemoizedFunction;
+import org.revapi.classland.impl.util.Globs;
 import org.revapi.classland.impl.util.Nullable;
 
 abstract class BaseElementsImpl implements Elements, ClasslandElements {
+    // the caches of the results of the queries with arbitrary user-provided keys are bounded so that they don't grow
+    // forever in long-running applications
+    private static final int MAX_CACHED_TYPE_NAMES = 4096;
+    private static final String INHERITED_DESCRIPTOR = "Ljava/lang/annotation/Inherited;";
+
     protected final TypeLookup lookup;
-    protected final MemoizedFunction<CharSequence, Map<ModuleElementImpl, PackageElement>> crossModulePackagesByName;
-    protected final MemoizedFunction<CharSequence, Map<ModuleElementImpl, TypeElement>> crossModuleTypesByFqn;
-    protected final MemoizedFunction<TypeElement, Boolean> isFunctionalInterface;
+    private final BoundedMemoizedFunction<String, Map<ModuleElementImpl, TypeElement>> crossModuleTypesByFqn;
 
     protected BaseElementsImpl(TypeLookup lookup) {
         this.lookup = lookup;
 
-        this.crossModulePackagesByName = memoize(name -> {
-            Map<ModuleElementImpl, PackageElement> ret = new HashMap<>();
-            for (ModuleElementImpl m : this.lookup.getModules()) {
-                for (PackageElement pkg : ElementFilter.packagesIn(m.getEnclosedElements())) {
-                    if (pkg.getQualifiedName().contentEquals(name)) {
-                        ret.put(m, pkg);
-                        break;
-                    }
-                }
-            }
-
-            return ret;
-        });
-
-        this.crossModuleTypesByFqn = memoize(name -> {
+        this.crossModuleTypesByFqn = BoundedMemoizedFunction.memoize(MAX_CACHED_TYPE_NAMES, name -> {
             Map<ModuleElementImpl, TypeElement> ret = new HashMap<>();
-            String typeName = name.toString();
             for (ModuleElementImpl m : this.lookup.getModules()) {
-                pkgs: for (PackageElement pkg : ElementFilter.packagesIn(m.getEnclosedElements())) {
-                    if (typeName.startsWith(pkg.getQualifiedName().toString())) {
-                        for (TypeElement t : ElementFilter.typesIn(pkg.getEnclosedElements())) {
-                            if (typeName.contentEquals(t.getQualifiedName())) {
-                                ret.put(m, t);
-                                break pkgs;
-                            }
-                        }
-                    }
+                TypeElement t = this.lookup.getTypeByQualifiedNameInModule(name, m);
+                if (t != null) {
+                    ret.put(m, t);
                 }
             }
 
             return ret;
         });
-
-        WeakHashMap<TypeElement, Boolean> cache = new WeakHashMap<>();
-        this.isFunctionalInterface = memoize(type -> {
-            Boolean result = cache.get(type);
-            if (result != null) {
-                return result;
-            }
-
-            // TODO implement
-            return false;
-        });
     }
 
     @Override
@@ -116,28 +103,59 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
         return ((TypeElementBase) type).getArchive();
     }
 
+    @Override
+    public Stream<Element> streamElements(boolean ordered) {
+        List<ModuleElementImpl> modules = new ArrayList<>(lookup.getModules());
+        if (ordered) {
+            modules.sort(Comparator.comparing(m -> m.getQualifiedName().asString()));
+        }
+
+        return StreamSupport.stream(new ElementSpliterator(modules, ordered), false);
+    }
+
     @Override
     public @Nullable Archive getModuleArchive(String moduleName) {
         ModuleElementImpl m = lookup.getModule(moduleName);
         return m == null ? null : m.getArchive();
     }
 
+    @Override
+    public Map<String, Set<String>> getMissingTypes() {
+        Map<String, Set<String>> ret = new TreeMap<>();
+        lookup.getMissingTypes().forEach((internalName, modules) -> {
+            Set<String> moduleNames = new TreeSet<>();
+            for (ModuleElementImpl m : modules) {
+                moduleNames.add(m.getQualifiedName().toString());
+            }
+            ret.put(internalName.replace('/', '.'), unmodifiableSet(moduleNames));
+        });
+        return unmodifiableMap(ret);
+    }
+
     @Override
     public PackageElement getPackageElement(CharSequence name) {
-        Map<ModuleElementImpl, PackageElement> allPackages = crossModulePackagesByName.apply(name);
+        Map<ModuleElementImpl, PackageElementImpl> allPackages = lookup.getPackagesByName(name.toString());
         return allPackages.isEmpty() ? null : allPackages.values().iterator().next();
     }
 
     @Override
     public TypeElement getTypeElement(CharSequence name) {
-        Map<ModuleElementImpl, TypeElement> allTypes = crossModuleTypesByFqn.apply(name);
+        Map<ModuleElementImpl, TypeElement> allTypes = getTypeElementsInAllModules(name);
         return allTypes.size() != 1 ? null : allTypes.values().iterator().next();
     }
 
+    /**
+     * @return the types with the provided qualified name in all the modules that contain one
+     */
+    protected Map<ModuleElementImpl, TypeElement> getTypeElementsInAllModules(CharSequence name) {
+        // the caller might pass in a mutable char sequence, so we can't use it as the key
+        return crossModuleTypesByFqn.apply(name.toString());
+    }
+
     @Override
     public @Nullable TypeElement getTypeElementByBinaryName(String binaryName) {
         String internalName = binaryName.replace('.', '/');
-        return lookup.getTypeByInternalNameFromModule(internalName, null);
+        return lookup.queryTypeByInternalNameFromModule(internalName, null);
     }
 
     @Override
@@ -147,7 +165,103 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
         if (module == null) {
             return null;
         }
-        return lookup.getTypeByInternalNameFromModule(internalName, module);
+        return lookup.queryTypeByInternalNameFromModule(internalName, module);
+    }
+
+    @Override
+    public Map<String, TypeElement> getTypeElementsByBinaryName(Collection<String> binaryNames) {
+        return resolveTypesByBinaryName(null, binaryNames);
+    }
+
+    @Override
+    public Map<String, TypeElement> getTypeElementsByBinaryName(String moduleName, Collection<String> binaryNames) {
+        ModuleElementImpl module = lookup.getModule(moduleName);
+        if (module == null) {
+            return emptyMap();
+        }
+        return resolveTypesByBinaryName(module, binaryNames);
+    }
+
+    private Map<String, TypeElement> resolveTypesByBinaryName(@Nullable ModuleElementImpl module,
+            Collection<String> binaryNames) {
+        List<String> internalNames = new ArrayList<>(binaryNames.size());
+        for (String binaryName : binaryNames) {
+            internalNames.add(binaryName.replace('.', '/'));
+        }
+
+        Map<String, TypeElementBase> types = lookup.getTypesByInternalNameFromModule(internalNames, module);
+
+        Map<String, TypeElement> ret = new LinkedHashMap<>();
+        for (String binaryName : binaryNames) {
+            ret.put(binaryName, types.get(binaryName.replace('.', '/')));
+        }
+
+        return ret;
+    }
+
+    @Override
+    public Stream<TypeElement> findTypes(String packageGlob, String typeGlob) {
+        return findTypes(Globs.toPattern(packageGlob), Globs.toPattern(typeGlob));
+    }
+
+    @Override
+    public Stream<TypeElement> findTypes(Pattern packageName, Pattern typeName) {
+        return lookup.findTypes(n -> packageName.matcher(n).matches(), n -> typeName.matcher(n).matches()).map(t -> t);
+    }
+
+    @Override
+    public Stream<TypeElement> getDirectSubtypes(TypeElement type) {
+        return lookup.getDirectSubtypes((TypeElementBase) type).map(t -> t);
+    }
+
+    @Override
+    public Stream<TypeElement> getAllSubtypes(TypeElement type) {
+        return lookup.getAllSubtypes((TypeElementBase) type).map(t -> t);
+    }
+
+    @Override
+    public Stream<Element> getElementsAnnotatedWith(String binaryName) {
+        return lookup.findAnnotatedElements(toDescriptor(binaryName)).map(e -> e);
+    }
+
+    @Override
+    public boolean isAnnotatedWith(Element element, String binaryName) {
+        return ((ElementImpl) element).hasAnnotation(toDescriptor(binaryName));
+    }
+
+    @Override
+    public boolean isMetaAnnotatedWith(Element element, String binaryName) {
+        String descriptor = toDescriptor(binaryName);
+        Set<Element> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<ElementImpl> todo = new ArrayDeque<>();
+        todo.add((ElementImpl) element);
+        while (!todo.isEmpty()) {
+            ElementImpl e = todo.poll();
+            if (e.hasAnnotation(descriptor)) {
+                return true;
+            }
+
+            if (e instanceof TypeElementBase) {
+                // only look up the annotation types, not the annotations
+                ModuleElementImpl module = ((TypeElementBase) e).lookupModule().get();
+                for (String annotation : e.getAnnotationDescriptors()) {
+                    TypeElementBase type = lookup
+                            .getTypeByInternalNameFromModule(Type.getType(annotation).getInternalName(), module);
+                    if (seen.add(type)) {
+                        todo.add(type);
+                    }
+                }
+            } else {
+                for (AnnotationMirror a : e.getAnnotationMirrors()) {
+                    ElementImpl type = (ElementImpl) a.getAnnotationType().asElement();
+                    if (seen.add(type)) {
+                        todo.add(type);
+                    }
+                }
+            }
+        }
+
+        return false;
     }
 
     @Override
@@ -188,13 +302,7 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
 
     @Override
     public List<? extends Element> getAllMembers(TypeElement type) {
-        List<Element> ret = new ArrayList<>(type.getEnclosedElements());
-        for (TypeElement superType : getAllSuperTypes(type)) {
-            superType.getEnclosedElements().stream().filter(e -> !e.getModifiers().contains(Modifier.PRIVATE))
-                    .filter(e -> e.getKind() != ElementKind.CONSTRUCTOR).forEach(ret::add);
-        }
-
-        return ret;
+        return ((TypeElementBase) type).getMemberTable().getAllMembers();
     }
 
     @Override
@@ -212,6 +320,10 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
                 break;
             }
 
+            if (((ElementImpl) e).getAnnotationDescriptors().isEmpty()) {
+                continue;
+            }
+
             List<? extends AnnotationMirror> annos = e.getAnnotationMirrors();
             for (AnnotationMirror a : annos) {
                 if (isInherited(a.getAnnotationType().asElement()) && !containsAnnotationOfType(ret, a)) {
@@ -245,7 +357,14 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
                 return false;
             }
 
-            if (!TypeUtils.isSubSignature((ExecutableType) hider.asType(), (ExecutableType) hidden.asType(), lookup)) {
+            String hiderSignature = MemberTable.signatureOf((ExecutableElementBase) hider);
+            String hiddenSignature = MemberTable.signatureOf((ExecutableElementBase) hidden);
+            if (hiderSignature != null && hiddenSignature != null) {
+                if (!hiderSignature.equals(hiddenSignature)) {
+                    return false;
+                }
+            } else if (!TypeUtils.isSubSignature((ExecutableType) hider.asType(), (ExecutableType) hidden.asType(),
+                    lookup)) {
                 return false;
             }
         }
@@ -336,6 +455,14 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
             return false;
         }
 
+        // the same erased parameter types are enough, only the overriding of the generic methods needs the
+        // substitution
+        String overriderSignature = MemberTable.signatureOf((ExecutableElementBase) overrider);
+        if (overriderSignature != null
+                && overriderSignature.equals(MemberTable.signatureOf((ExecutableElementBase) overridden))) {
+            return true;
+        }
+
         return TypeUtils.isSubSignature((ExecutableType) overrider.asType(),
                 (ExecutableType) TypeUtils.asMemberOf((DeclaredType) type.asType(), overridden), lookup);
     }
@@ -359,14 +486,37 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
 
     @Override
     public boolean isFunctionalInterface(TypeElement type) {
-        if (!type.getKind().isInterface()) {
+        List<ExecutableElementImpl> methods = ((TypeElementBase) type).getMemberTable().getAbstractMethods();
+        if (methods.isEmpty()) {
             return false;
-        } else {
-            return isFunctionalInterface.apply(type);
         }
+
+        String signature = MemberTable.signatureOf(methods.get(0));
+        if (methods.stream().allMatch(m -> signature.equals(MemberTable.signatureOf(m)))) {
+            return true;
+        }
+
+        // the methods can only become override-equivalent after substituting the type arguments of the supertypes,
+        // e.g. a method refining the single method of a generic superinterface
+        DeclaredType declaredType = (DeclaredType) type.asType();
+        for (ExecutableElementImpl m : methods) {
+            ExecutableType mType = (ExecutableType) TypeUtils.asMemberOf(declaredType, m);
+            boolean subsignatureOfAll = methods.stream()
+                    .allMatch(o -> o == m || o.getSimpleName().contentEquals(m.getSimpleName()) && TypeUtils
+                            .isSubSignature(mType, (ExecutableType) TypeUtils.asMemberOf(declaredType, o), lookup));
+            if (subsignatureOfAll) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     private boolean isInherited(Element annotationElement) {
+        if (annotationElement instanceof ElementImpl) {
+            return ((ElementImpl) annotationElement).hasAnnotation(INHERITED_DESCRIPTOR);
+        }
+
         for (AnnotationMirror a : annotationElement.getAnnotationMirrors()) {
             Name annoTypeName = TypeUtils.asTypeElement(a.getAnnotationType()).getQualifiedName();
             if ("java.lang.annotation.Inherited".contentEquals(annoTypeName)) {
@@ -377,6 +527,10 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
         return false;
     }
 
+    private static String toDescriptor(String binaryName) {
+        return "L" + binaryName.replace('.', '/') + ";";
+    }
+
     private boolean containsAnnotationOfType(List<AnnotationMirror> annos, AnnotationMirror am) {
         Element annoType = am.getAnnotationType().asElement();
         for (AnnotationMirror a : annos) {
@@ -387,31 +541,4 @@ abstract class BaseElementsImpl implements Elements, ClasslandElements {
 
         return false;
     }
-
-    private Set<TypeElement> getAllSuperTypes(TypeElement type) {
-        HashSet<TypeElement> ret = new HashSet<>(4);
-        fillAllSuperTypes(type, ret);
-        return ret;
-    }
-
-    private void fillAllSuperTypes(TypeElement type, Set<TypeElement> superTypes) {
-        if (type instanceof MissingTypeImpl) {
-            superTypes.add(lookup.getJavaLangObject());
-        } else {
-            TypeMirror superClassType = type.getSuperclass();
-            TypeElement superClass = superClassType == null ? null : TypeUtils.asTypeElement(superClassType);
-            if (superClass != null) {
-                superTypes.add(superClass);
-                fillAllSuperTypes(superClass, superTypes);
-            }
-
-            for (TypeMirror t : type.getInterfaces()) {
-                TypeElement te = TypeUtils.asTypeElement(t);
-                if (te != null) {
-                    superTypes.add(te);
-                    fillAllSuperTypes(te, superTypes);
-                }
-            }
-        }
-    }
 }
@@ -16,7 +16,6 @@
  */
 package org.revapi.classland.impl;
 
-import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
@@ -36,11 +35,9 @@ import static javax.lang.model.type.TypeKind.VOID;
 import static javax.lang.model.type.TypeKind.WILDCARD;
 
 import static org.revapi.classland.impl.util.MemoizedValue.memoize;
-import static org.revapi.classland.impl.util.MemoizedValue.obtained;
 import static org.revapi.classland.impl.util.MemoizedValue.obtainedNull;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
@@ -73,7 +70,6 @@ import org.revapi.classland.impl.model.element.ModuleElementImpl;
 import org.revapi.classland.impl.model.element.TypeElementBase;
 import org.revapi.classland.impl.model.mirror.ArrayTypeImpl;
 import org.revapi.classland.impl.model.mirror.DeclaredTypeImpl;
-import org.revapi.classland.impl.model.mirror.NoTypeImpl;
 import org.revapi.classland.impl.model.mirror.NullTypeImpl;
 import org.revapi.classland.impl.model.mirror.PrimitiveTypeImpl;
 import org.revapi.classland.impl.model.mirror.TypeMirrorFactory;
@@ -108,7 +104,7 @@ abstract class BaseTypesImpl implements Types {
         this.lookup = lookup;
         this.javaLangObject = memoize(lookup::getJavaLangObject);
         this.javaLangObjectType = javaLangObject.map(Element::asType);
-        this.noType = new NoTypeImpl(lookup, obtained(emptyList()), NONE);
+        this.noType = lookup.canonicalTypes.noType();
         this.boxedClass = MemoizedFunction.memoize(p -> {
             ModuleElementImpl javaBase = lookup.getJavaBase();
             switch (p.getKind()) {
@@ -155,7 +151,7 @@ abstract class BaseTypesImpl implements Types {
             return false;
         }
 
-        return TypeUtils.isSameType(t1, t2);
+        return t1 == t2 || TypeUtils.isSameType(t1, t2);
     }
 
     @Override
@@ -240,7 +236,7 @@ abstract class BaseTypesImpl implements Types {
         if (kind != VOID && kind != NONE) {
             throw new IllegalArgumentException();
         }
-        return new NoTypeImpl(lookup, memoize(Collections::emptyList), kind);
+        return kind == VOID ? lookup.canonicalTypes.voidType() : lookup.canonicalTypes.noType();
     }
 
     @Override
@@ -287,23 +283,23 @@ abstract class BaseTypesImpl implements Types {
         String internalName = ((DeclaredTypeImpl) t).asElement().getInternalName();
         switch (internalName) {
         case "java/lang/Boolean":
-            return new PrimitiveTypeImpl(lookup, BOOLEAN);
+            return lookup.canonicalTypes.primitive(BOOLEAN);
         case "java/lang/Byte":
-            return new PrimitiveTypeImpl(lookup, BYTE);
+            return lookup.canonicalTypes.primitive(BYTE);
         case "java/lang/Character":
-            return new PrimitiveTypeImpl(lookup, CHAR);
+            return lookup.canonicalTypes.primitive(CHAR);
         case "java/lang/Short":
-            return new PrimitiveTypeImpl(lookup, SHORT);
+            return lookup.canonicalTypes.primitive(SHORT);
         case "java/lang/Integer":
-            return new PrimitiveTypeImpl(lookup, INT);
+            return lookup.canonicalTypes.primitive(INT);
         case "java/lang/Long":
-            return new PrimitiveTypeImpl(lookup, LONG);
+            return lookup.canonicalTypes.primitive(LONG);
         case "java/lang/Float":
-            return new PrimitiveTypeImpl(lookup, FLOAT);
+            return lookup.canonicalTypes.primitive(FLOAT);
         case "java/lang/Double":
-            return new PrimitiveTypeImpl(lookup, DOUBLE);
+            return lookup.canonicalTypes.primitive(DOUBLE);
         case "java/lang/Void":
-            return new PrimitiveTypeImpl(lookup, VOID);
+            return lookup.canonicalTypes.unboxedVoid();
         default:
             return INVALID_PRIMITIVE_TYPE;
         }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import javax.lang.model.element.Element;
+
+import org.revapi.classland.impl.model.element.BaseModuleElementImpl;
+import org.revapi.classland.impl.model.element.PackageElementImpl;
+import org.revapi.classland.impl.model.element.TypeElementBase;
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * A spliterator over a depth-first traversal of elements and everything they (transitively) enclose. Each element is
+ * followed by its enclosed elements.
+ *
+ * The traversal is split first by the root elements, then, if only a single module or package remains, by the elements
+ * it encloses. Types are never split further, a type with all its members is the smallest unit of work.
+ *
+ * If ordered, the packages of a module and the types of a package are sorted by their names (the order of the modules
+ * is up to the caller) and the members of types keep their declaration order. Otherwise there is no guaranteed
+ * encounter order and the enclosed elements are taken in whatever order the model keeps them.
+ */
+final class ElementSpliterator implements Spliterator<Element> {
+    private static final Comparator<Element> BY_QUALIFIED_NAME = Comparator
+            .comparing(e -> ((PackageElementImpl) e).getQualifiedName().asString());
+    private static final Comparator<Element> BY_INTERNAL_NAME = Comparator
+            .comparing(e -> ((TypeElementBase) e).getInternalName());
+
+    private final boolean ordered;
+    // an element to report on its own before the roots, i.e. a root that has been opened up for splitting
+    private @Nullable Element head;
+    // the iterators over the enclosed elements of the roots (and their members) currently being traversed
+    private Deque<Iterator<? extends Element>> stack;
+    private List<? extends Element> roots;
+    private int index;
+    private int end;
+
+    ElementSpliterator(List<? extends Element> roots, boolean ordered) {
+        this(ordered, null, new ArrayDeque<>(), roots, 0, roots.size());
+    }
+
+    private ElementSpliterator(boolean ordered, @Nullable Element head, Deque<Iterator<? extends Element>> stack,
+            List<? extends Element> roots, int index, int end) {
+        this.ordered = ordered;
+        this.head = head;
+        this.stack = stack;
+        this.roots = roots;
+        this.index = index;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Element> action) {
+        Element next = head;
+        if (next != null) {
+            head = null;
+        } else {
+            next = nextInTraversal();
+            if (next == null) {
+                return false;
+            }
+        }
+
+        action.accept(next);
+        return true;
+    }
+
+    private @Nullable Element nextInTraversal() {
+        while (!stack.isEmpty()) {
+            Iterator<? extends Element> it = stack.peek();
+            if (it.hasNext()) {
+                return visit(it.next());
+            }
+            stack.pop();
+        }
+
+        return index < end ? visit(roots.get(index++)) : null;
+    }
+
+    private Element visit(Element element) {
+        List<? extends Element> children = childrenOf(element);
+        if (!children.isEmpty()) {
+            stack.push(children.iterator());
+        }
+        return element;
+    }
+
+    @Override
+    public @Nullable Spliterator<Element> trySplit() {
+        if (end - index == 1 && stack.isEmpty()) {
+            if (head != null) {
+                // give away the head so that the last root can be opened up on the next split
+                ElementSpliterator prefix = new ElementSpliterator(ordered, head, new ArrayDeque<>(), emptyList(), 0,
+                        0);
+                head = null;
+                return prefix;
+            }
+
+            Element root = roots.get(index);
+            if (!isSplittable(root)) {
+                return null;
+            }
+
+            head = root;
+            roots = childrenOf(root);
+            index = 0;
+            end = roots.size();
+        }
+
+        if (end - index < 2) {
+            return null;
+        }
+
+        // the prefix needs to be given away to keep the encounter order
+        int mid = (index + end) >>> 1;
+        ElementSpliterator prefix = new ElementSpliterator(ordered, head, stack, roots, index, mid);
+        head = null;
+        stack = new ArrayDeque<>();
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // we have no idea how many elements are enclosed in the roots without loading them
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ordered ? NONNULL | ORDERED : NONNULL;
+    }
+
+    private static boolean isSplittable(Element element) {
+        return element instanceof BaseModuleElementImpl || element instanceof PackageElementImpl;
+    }
+
+    private List<? extends Element> childrenOf(Element element) {
+        List<? extends Element> children = element.getEnclosedElements();
+        if (!ordered || children.size() < 2) {
+            return children;
+        }
+
+        Comparator<Element> order;
+        if (element instanceof BaseModuleElementImpl) {
+            order = BY_QUALIFIED_NAME;
+        } else if (element instanceof PackageElementImpl) {
+            order = BY_INTERNAL_NAME;
+        } else {
+            return children;
+        }
+
+        List<Element> sorted = new ArrayList<>(children);
+        sorted.sort(order);
+        return sorted;
+    }
+}
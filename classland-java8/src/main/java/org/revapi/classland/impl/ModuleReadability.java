@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.revapi.classland.impl.model.element.ModuleElementImpl;
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * Keeps track of the readability relationships between the modules of the universe. Each module is assigned a dense
+ * numeric id upon registration and the set of modules a module can read is computed once and stored as a bitset of
+ * those ids.
+ *
+ * <p>
+ * The readability follows the rules of JPMS - a module reads itself, the modules it requires and all the modules that
+ * those modules require transitively. The unnamed and automatic modules read all the modules.
+ */
+final class ModuleReadability {
+    private final TypePool universe;
+    private final List<ModuleElementImpl> modules = new ArrayList<>();
+    private final Map<ModuleElementImpl, Integer> ids = new ConcurrentHashMap<>();
+    // replaced as a whole when a new module is registered, because that can change the readability of the modules
+    // that already have it computed.
+    private volatile Map<ModuleElementImpl, BitSet> closures = new ConcurrentHashMap<>();
+
+    ModuleReadability(TypePool universe) {
+        this.universe = universe;
+    }
+
+    void register(ModuleElementImpl module) {
+        synchronized (modules) {
+            if (ids.containsKey(module)) {
+                return;
+            }
+
+            ids.put(module, modules.size());
+            modules.add(module);
+            closures = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * @return true if the {@code reader} module can read the {@code target} module
+     */
+    boolean reads(ModuleElementImpl reader, ModuleElementImpl target) {
+        if (reader == target) {
+            return true;
+        }
+
+        int targetId = idOf(target);
+        return targetId >= 0 && closureOf(reader).get(targetId);
+    }
+
+    private BitSet closureOf(ModuleElementImpl module) {
+        Map<ModuleElementImpl, BitSet> closures = this.closures;
+        BitSet ret = closures.get(module);
+        if (ret == null) {
+            ret = computeClosure(module);
+            closures.putIfAbsent(module, ret);
+        }
+
+        return ret;
+    }
+
+    private BitSet computeClosure(ModuleElementImpl module) {
+        synchronized (modules) {
+            BitSet ret = new BitSet(modules.size());
+            int id = idOf(module);
+            if (id >= 0) {
+                ret.set(id);
+            }
+
+            if (module == universe.getUnnamedModule() || module.isAutomatic()) {
+                ret.set(0, modules.size());
+                return ret;
+            }
+
+            module.getReachableModules().forEach(r -> {
+                ModuleElementImpl dep = r.getModuleName() == null ? null : universe.getModule(r.getModuleName());
+                addWithImpliedReadability(dep, ret);
+            });
+
+            return ret;
+        }
+    }
+
+    private void addWithImpliedReadability(@Nullable ModuleElementImpl module, BitSet closure) {
+        int id = module == null ? -1 : idOf(module);
+        if (id < 0 || closure.get(id)) {
+            return;
+        }
+
+        closure.set(id);
+
+        module.getReachableModules().filter(ModuleElementImpl.ReachableModule::isTransitive).forEach(r -> {
+            ModuleElementImpl dep = r.getModuleName() == null ? null : universe.getModule(r.getModuleName());
+            addWithImpliedReadability(dep, closure);
+        });
+    }
+
+    private int idOf(ModuleElementImpl module) {
+        Integer id = ids.get(module);
+        return id == null ? -1 : id;
+    }
+}
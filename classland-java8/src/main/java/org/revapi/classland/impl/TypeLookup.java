@@ -17,16 +17,35 @@
 package org.revapi.classland.impl;
 
 import static java.util.Collections.emptyList;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Spliterators.spliteratorUnknownSize;
 
 import static org.revapi.classland.impl.util.MemoizedValue.obtained;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.revapi.classland.impl.model.anno.AnnotationSource;
+import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
 import org.revapi.classland.impl.model.element.ElementImpl;
 import org.revapi.classland.impl.model.element.MissingTypeImpl;
 import org.revapi.classland.impl.model.element.ModuleElementImpl;
@@ -35,31 +54,40 @@ import org.revapi.classland.impl.model.element.PackageElementImpl;
 import org.revapi.classland.impl.model.element.TypeElementBase;
 import org.revapi.classland.impl.model.element.TypeElementImpl;
 import org.revapi.classland.impl.model.element.TypeParameterElementImpl;
+import org.revapi.classland.impl.model.mirror.CanonicalTypes;
 import org.revapi.classland.impl.model.mirror.ErrorTypeImpl;
 import org.revapi.classland.impl.model.mirror.NullTypeImpl;
+import org.revapi.classland.impl.model.mirror.TypeMirrorFactory;
+import org.revapi.classland.impl.model.mirror.TypeMirrorImpl;
 import org.revapi.classland.impl.model.signature.Bound;
+import org.revapi.classland.impl.model.signature.SignatureParser;
 import org.revapi.classland.impl.model.signature.TypeSignature;
 import org.revapi.classland.impl.model.signature.TypeVariableResolutionContext;
-import org.revapi.classland.impl.util.MemoizedBiFunction;
-import org.revapi.classland.impl.util.MemoizedFunction;
+import org.revapi.classland.impl.util.BoundedMemoizedFunction;
 import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Nullable;
+import org.revapi.classland.impl.util.Packages;
+import org.revapi.classland.impl.util.ScopedMemoizedFunction;
 
 public final class TypeLookup implements AutoCloseable {
     public static final TypeSignature.Reference JAVA_LANG_OBJECT_SIG = new TypeSignature.Reference(0,
             "java/lang/Object", emptyList(), null);
+    private static final int MAX_CACHED_MEMBER_TYPES = 16384;
 
     public final NullTypeImpl nullType = new NullTypeImpl(this);
+    public final CanonicalTypes canonicalTypes = new CanonicalTypes(this);
     private final TypePool universe;
-    private final MemoizedBiFunction<String, @Nullable ModuleElementImpl, TypeElementBase> getTypeByInternalNameFromModule;
-    private final MemoizedFunction<String, ModuleElementImpl> getModule;
-    private final MemoizedBiFunction<String, @Nullable ModuleElementImpl, PackageElementImpl> getPackageInModule;
-    private final MemoizedBiFunction<String, PackageElementImpl, TypeElementBase> getTypeByInternalNameFromPackage;
-    private final MemoizedValue<Collection<ModuleElementImpl>> getModules;
+    private final ScopedMemoizedFunction<@Nullable ModuleElementImpl, TypeElementBase> getTypeByInternalNameFromModule;
     private final MemoizedValue<TypeElementBase> getJavaLangObject;
     private final MemoizedValue<TypeElementBase> getJavaLangCloneable;
     private final MemoizedValue<TypeElementBase> getJavaIoSerializable;
     private final MemoizedValue<ModuleElementImpl> getJavaBase;
+    private final ConcurrentHashMap<String, MissingTypeImpl> absentTypes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<ModuleElementImpl>> missingTypeRequesters = new ConcurrentHashMap<>();
+    private final AtomicInteger typeIds = new AtomicInteger();
+    private final ScopedMemoizedFunction<@Nullable ModuleElementImpl, TypeMirrorImpl> classLiteralTypes;
+    private final BoundedMemoizedFunction<MemberOf, TypeMirrorImpl> memberTypes = BoundedMemoizedFunction
+            .memoize(MAX_CACHED_MEMBER_TYPES, m -> TypeUtils.computeAsMemberOf(m.owner, m.member));
 
     public final TypeVariableResolutionContext noTypeVariables = new TypeVariableResolutionContext() {
         @Override
@@ -85,67 +113,290 @@ public final class TypeLookup implements AutoCloseable {
 
     public TypeLookup(TypePool universe) {
         this.universe = universe;
-        MemoizedFunction<ModuleElementImpl, Map<String, TypeElementImpl>> typesInModule = MemoizedFunction
-                .memoize(m -> m.computePackages().get().values().stream().flatMap(p -> p.computeTypes().get().stream())
-                        .collect(toMap(TypeElementBase::getInternalName, identity())));
-
-        getTypeByInternalNameFromModule = MemoizedBiFunction.memoize((internalName, startingModule) -> {
-            ModuleElementImpl actualModule = startingModule == null ? getUnnamedModule() : startingModule;
-
-            TypeElementBase type = typesInModule.apply(actualModule).get(internalName);
-            if (type == null) {
-                ReachableModulesIterator reachableModules = new ReachableModulesIterator(TypeLookup.this, actualModule);
-                while (reachableModules.hasNext()) {
-                    ModuleElementImpl m = reachableModules.next();
-                    type = typesInModule.apply(m).get(internalName);
+        getTypeByInternalNameFromModule = ScopedMemoizedFunction
+                .memoize((internalName, startingModule) -> resolveType(internalName, startingModule,
+                        universe.getPackagesByName(Packages.getPackageNameFromInternalName(internalName))));
+
+        classLiteralTypes = ScopedMemoizedFunction.memoize((internalName, module) -> TypeMirrorFactory.create(this,
+                SignatureParser.parseInternalName(internalName), noTypeVariables, AnnotationSource.MEMOIZED_EMPTY,
+                AnnotationTargetPath.ROOT, obtained(module)));
+
+        getJavaBase = MemoizedValue.memoize(universe::getJavaBase);
+        getJavaLangObject = getJavaBase.map(jb -> getTypeByInternalNameFromModule("java/lang/Object", jb));
+        getJavaLangCloneable = getJavaBase.map(jb -> getTypeByInternalNameFromModule("java/lang/Cloneable", jb));
+        getJavaIoSerializable = getJavaBase.map(jb -> getTypeByInternalNameFromModule("java/io/Serializable", jb));
+    }
+
+    /**
+     * Looks up a type referenced from the class files (or needed by the model itself, like {@code java.lang.Object}).
+     * If the type cannot be found, it is reported by {@link #getMissingTypes()}.
+     */
+    public TypeElementBase getTypeByInternalNameFromModule(String internalName,
+            @Nullable ModuleElementImpl typeLookupSeed) {
+        return reportIfMissing(getTypeByInternalNameFromModule.apply(internalName, typeLookupSeed), typeLookupSeed);
+    }
+
+    /**
+     * Looks up a type requested by the user. Unlike {@link #getTypeByInternalNameFromModule(String, ModuleElementImpl)}
+     * the type is not reported by {@link #getMissingTypes()} if it cannot be found, because the report is about the
+     * dependencies of the class files, not about the names the users ask for.
+     */
+    public TypeElementBase queryTypeByInternalNameFromModule(String internalName,
+            @Nullable ModuleElementImpl typeLookupSeed) {
+        return getTypeByInternalNameFromModule.apply(internalName, typeLookupSeed);
+    }
+
+    /**
+     * Returns the type of a class literal used in an annotation value. The types are shared by all the annotation
+     * values referring to the same class from the same module.
+     *
+     * @param internalName
+     *            the internal name of the class
+     * @param typeLookupSeed
+     *            the module from which to look up the class
+     *
+     * @return the type of the class
+     */
+    public TypeMirrorImpl getClassLiteralType(String internalName, @Nullable ModuleElementImpl typeLookupSeed) {
+        return classLiteralTypes.apply(internalName, typeLookupSeed);
+    }
+
+    /**
+     * Only the types referenced from the class files are reported, the failed lookups of the types requested by the
+     * users (see {@link #queryTypeByInternalNameFromModule(String, ModuleElementImpl)}) are not.
+     *
+     * @return the internal names of all the types that were looked up but couldn't be found, together with the modules
+     *         from which the lookups were made
+     */
+    public Map<String, Set<ModuleElementImpl>> getMissingTypes() {
+        Map<String, Set<ModuleElementImpl>> ret = new HashMap<>();
+        missingTypeRequesters.forEach((n, ms) -> ret.put(n, unmodifiableSet(new HashSet<>(ms))));
+        return ret;
+    }
+
+    private TypeElementBase reportIfMissing(TypeElementBase type, @Nullable ModuleElementImpl typeLookupSeed) {
+        if (type instanceof MissingTypeImpl) {
+            ModuleElementImpl requestingModule = typeLookupSeed == null ? getUnnamedModule() : typeLookupSeed;
+            missingTypeRequesters.computeIfAbsent(type.getInternalName(), __ -> ConcurrentHashMap.newKeySet())
+                    .add(requestingModule);
+        }
+        return type;
+    }
+
+    private MissingTypeImpl newMissingType(String internalName, @Nullable ModuleElementImpl lookupModule) {
+        // a type without an enclosing package is the same no matter which module it was looked up from, so it can be
+        // shared. The rest are enclosed by the package of the module and are memoized per module by the caller.
+        return lookupModule == null ? absentTypes.computeIfAbsent(internalName, n -> new MissingTypeImpl(this, n, null))
+                : new MissingTypeImpl(this, internalName, lookupModule);
+    }
+
+    /**
+     * Looks up several types at once. The names are grouped by their packages so that the modules containing each
+     * package are only looked up once for the whole group.
+     *
+     * @param internalNames
+     *            the internal names of the types to look up
+     * @param typeLookupSeed
+     *            the module to look the types up from
+     *
+     * @return the types keyed by their internal names, in the iteration order of the provided names. Same as with
+     *         {@link #queryTypeByInternalNameFromModule(String, ModuleElementImpl)}, the types that cannot be found are
+     *         not reported by {@link #getMissingTypes()}.
+     */
+    public Map<String, TypeElementBase> getTypesByInternalNameFromModule(Collection<String> internalNames,
+            @Nullable ModuleElementImpl typeLookupSeed) {
+        Map<String, TypeElementBase> ret = new LinkedHashMap<>();
+        Map<String, List<String>> namesByPackage = new HashMap<>();
+        for (String name : internalNames) {
+            if (!ret.containsKey(name)) {
+                ret.put(name, null);
+                namesByPackage.computeIfAbsent(Packages.getPackageNameFromInternalName(name), __ -> new ArrayList<>())
+                        .add(name);
+            }
+        }
+
+        namesByPackage.forEach((pkg, names) -> {
+            Map<ModuleElementImpl, PackageElementImpl> candidates = universe.getPackagesByName(pkg);
+            for (String name : names) {
+                ret.put(name, getTypeByInternalNameFromModule.apply(name, typeLookupSeed,
+                        n -> resolveType(n, typeLookupSeed, candidates)));
+            }
+        });
+
+        return ret;
+    }
+
+    private TypeElementBase resolveType(String internalName, @Nullable ModuleElementImpl startingModule,
+            Map<ModuleElementImpl, PackageElementImpl> candidates) {
+        ModuleElementImpl actualModule = startingModule == null ? getUnnamedModule() : startingModule;
+
+        // only the modules that contain the package of the type can contain the type itself. In a well-formed
+        // universe only a single one of them is readable from the starting module.
+        if (candidates.isEmpty()) {
+            // no module contains the package, so the type is missing no matter where we look from
+            return newMissingType(internalName, null);
+        }
+
+        TypeElementBase type = findType(internalName, actualModule, candidates);
+        if (type == null) {
+            // the missing type is enclosed by the package of the starting module, if the module contains it
+            return newMissingType(internalName, candidates.containsKey(actualModule) ? actualModule : null);
+        }
+
+        return type;
+    }
+
+    private @Nullable TypeElementBase findType(String internalName, ModuleElementImpl module,
+            Map<ModuleElementImpl, PackageElementImpl> candidates) {
+        // the packages only ever instantiate the requested type, the rest of the module stays untouched
+        PackageElementImpl pkg = candidates.get(module);
+        TypeElementBase type = pkg == null ? null : pkg.getType(internalName);
+
+        if (type == null) {
+            for (Map.Entry<ModuleElementImpl, PackageElementImpl> e : candidates.entrySet()) {
+                ModuleElementImpl m = e.getKey();
+                if (m != module && universe.reads(module, m)) {
+                    type = e.getValue().getType(internalName);
                     if (type != null) {
                         return type;
                     }
                 }
-
-                type = new MissingTypeImpl(TypeLookup.this, internalName, startingModule);
             }
+        }
 
-            return type;
-        });
-
-        getModule = MemoizedFunction.memoize(universe::getModule);
-        getPackageInModule = MemoizedBiFunction
-                .memoize((pkg, m) -> m == null ? null : m.computePackages().get().get(pkg));
-        getTypeByInternalNameFromPackage = MemoizedBiFunction
-                .memoize((internalName, pkg) -> getTypeByInternalNameFromModule.apply(internalName, pkg.getModule()));
+        return type;
+    }
 
-        getModules = MemoizedValue.memoize(universe::getModules);
-        getJavaBase = MemoizedValue.memoize(universe::getJavaBase);
-        getJavaLangObject = getJavaBase.map(jb -> getTypeByInternalNameFromModule.apply("java/lang/Object", jb));
-        getJavaLangCloneable = getJavaBase.map(jb -> getTypeByInternalNameFromModule.apply("java/lang/Cloneable", jb));
-        getJavaIoSerializable = getJavaBase
-                .map(jb -> getTypeByInternalNameFromModule.apply("java/io/Serializable", jb));
+    /**
+     * The type of the member as seen from the owner type, with the type parameters of the member's enclosing types
+     * substituted by the type arguments of the owner (see {@link javax.lang.model.util.Types#asMemberOf}).
+     *
+     * The results are cached by the identity of the owner and the member. The unannotated types are canonical, so the
+     * cache is hit for all the structurally equal owners, unless they carry type annotations. The cache is bounded
+     * because the owner types can be constructed by the users, too.
+     */
+    public TypeMirrorImpl getMemberType(TypeMirrorImpl owner, ElementImpl member) {
+        return memberTypes.apply(new MemberOf(owner, member));
     }
 
-    public TypeElementBase getTypeByInternalNameFromModule(String internalName,
-            @Nullable ModuleElementImpl typeLookupSeed) {
-        return getTypeByInternalNameFromModule.apply(internalName, typeLookupSeed);
+    /**
+     * @return a new id for a type, see {@link TypeElementBase#getTypeId()}
+     */
+    public int newTypeId() {
+        return typeIds.getAndIncrement();
     }
 
     public ModuleElementImpl getUnnamedModule() {
         return universe.getUnnamedModule();
     }
 
-    public ModuleElementImpl getModule(String module) {
-        return getModule.apply(module);
+    public @Nullable ModuleElementImpl getModule(String module) {
+        // a plain map lookup, memoizing it would only make the memo grow with every name the users ask for
+        return universe.getModule(module);
+    }
+
+    public @Nullable PackageElementImpl getPackageInModule(String name, @Nullable ModuleElementImpl module) {
+        return module == null ? null : universe.getPackagesByName(name).get(module);
+    }
+
+    public Map<ModuleElementImpl, PackageElementImpl> getPackagesByName(String name) {
+        return universe.getPackagesByName(name);
+    }
+
+    public @Nullable TypeElementImpl getTypeByQualifiedNameInModule(CharSequence qualifiedName,
+            ModuleElementImpl module) {
+        return universe.getTypeByQualifiedName(module, qualifiedName);
+    }
+
+    public Stream<TypeElementImpl> findTypes(Predicate<String> packageFilter, Predicate<String> typeFilter) {
+        return universe.findTypes(packageFilter, typeFilter);
+    }
+
+    /**
+     * Finds the types that directly extend or implement the provided type. Only the types from the modules in which the
+     * name of the provided type actually resolves to it are considered. The modules are checked without looking the
+     * type up, so that the modules that cannot see it don't report it as missing.
+     *
+     * @param type
+     *            the supertype
+     *
+     * @return the lazily evaluated stream of the direct subtypes
+     */
+    public Stream<TypeElementImpl> getDirectSubtypes(TypeElementBase type) {
+        String internalName = type.getInternalName();
+        // the modules that cannot see the type are not interested in it, so they must not report it as missing. A
+        // missing type is seen by all the modules in which its name doesn't resolve.
+        Map<ModuleElementImpl, PackageElementImpl> candidates = universe
+                .getPackagesByName(Packages.getPackageNameFromInternalName(internalName));
+        boolean missing = type instanceof MissingTypeImpl;
+        return getModules().stream().filter(module -> {
+            TypeElementBase found = findType(internalName, module, candidates);
+            return found == null ? missing : found == type;
+        }).flatMap(module -> universe.findDirectSubtypes(module, internalName));
+    }
+
+    /**
+     * Finds all the types that transitively extend or implement the provided type. The hierarchy is traversed breadth
+     * first and only as far as the stream is consumed.
+     *
+     * @param type
+     *            the supertype
+     *
+     * @return the lazily evaluated stream of all the subtypes, each of them reported once
+     */
+    public Stream<TypeElementImpl> getAllSubtypes(TypeElementBase type) {
+        Iterator<TypeElementImpl> it = new Iterator<TypeElementImpl>() {
+            final Set<TypeElementBase> seen = newSetFromMap(new IdentityHashMap<>());
+            final Deque<TypeElementImpl> pending = new ArrayDeque<>();
+            Iterator<TypeElementImpl> current = getDirectSubtypes(type).iterator();
+            @Nullable
+            TypeElementImpl next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (current.hasNext()) {
+                        TypeElementImpl candidate = current.next();
+                        if (seen.add(candidate)) {
+                            pending.add(candidate);
+                            next = candidate;
+                        }
+                    } else if (pending.isEmpty()) {
+                        return false;
+                    } else {
+                        current = getDirectSubtypes(pending.poll()).iterator();
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public TypeElementImpl next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TypeElementImpl ret = next;
+                next = null;
+                return ret;
+            }
+        };
+
+        return StreamSupport.stream(spliteratorUnknownSize(it, Spliterator.DISTINCT | Spliterator.NONNULL), false);
     }
 
-    public PackageElementImpl getPackageInModule(String name, @Nullable ModuleElementImpl module) {
-        return getPackageInModule.apply(name, module);
+    public Stream<ElementImpl> findAnnotatedElements(String annotationDescriptor) {
+        return universe.findAnnotatedElements(annotationDescriptor);
     }
 
     public TypeElementBase getTypeByInternalNameFromPackage(String internalName, PackageElementImpl pkg) {
-        return getTypeByInternalNameFromPackage.apply(internalName, pkg);
+        return getTypeByInternalNameFromModule(internalName, pkg.getModule());
     }
 
+    /**
+     * @return the modules registered in the type pool at the time of the call
+     */
     public Collection<ModuleElementImpl> getModules() {
-        return getModules.get();
+        return universe.getModules();
     }
 
     public TypeElementBase getJavaLangObject() {
@@ -168,4 +419,34 @@ public final class TypeLookup implements AutoCloseable {
     public void close() throws Exception {
         universe.close();
     }
+
+    private static final class MemberOf {
+        final TypeMirrorImpl owner;
+        final ElementImpl member;
+        private final int hash;
+
+        MemberOf(TypeMirrorImpl owner, ElementImpl member) {
+            this.owner = owner;
+            this.member = member;
+            this.hash = 31 * System.identityHashCode(owner) + System.identityHashCode(member);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MemberOf)) {
+                return false;
+            }
+
+            MemberOf that = (MemberOf) o;
+            return owner == that.owner && member == that.member;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -16,40 +16,67 @@
  */
 package org.revapi.classland.impl;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableMap;
+
 import static org.revapi.classland.impl.util.ByteCode.parseClass;
 import static org.revapi.classland.impl.util.Exceptions.failWithRuntimeException;
 import static org.revapi.classland.impl.util.MemoizedValue.memoize;
 import static org.revapi.classland.impl.util.MemoizedValue.obtainedNull;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 import org.revapi.classland.archive.Archive;
 import org.revapi.classland.archive.ClassData;
 import org.revapi.classland.archive.ModuleResolver;
+import org.revapi.classland.impl.model.element.ElementImpl;
+import org.revapi.classland.impl.model.element.ExecutableElementImpl;
 import org.revapi.classland.impl.model.element.ModuleElementImpl;
 import org.revapi.classland.impl.model.element.PackageElementImpl;
 import org.revapi.classland.impl.model.element.TypeElementImpl;
 import org.revapi.classland.impl.model.element.UnnamedModuleImpl;
 import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Nullable;
+import org.revapi.classland.impl.util.Packages;
 
 public final class TypePool implements AutoCloseable {
 
     private final UnnamedModuleImpl unnamedModule;
     private final boolean analyzeModules;
     private final Set<Archive> archives = new HashSet<>();
-    private final Set<ModuleResolver> moduleResolvers = new HashSet<>();
-    private final Map<String, ModuleElementImpl> modules = new HashMap<>();
+    // the resolvers are consulted in the order of registration
+    private final Set<ModuleResolver> moduleResolvers = new CopyOnWriteArraySet<>();
+    // only modified under its own lock, but read without any
+    private final Map<String, ModuleElementImpl> modules = new ConcurrentHashMap<>();
+    // package name -> (module -> package). The inner maps are never modified once published, they are replaced under
+    // the modules lock instead, so that the readers don't need any synchronization and see the modules in the order
+    // of registration.
+    private final Map<String, Map<ModuleElementImpl, PackageElementImpl>> packagesByName = new ConcurrentHashMap<>();
+    // same as above, the lists are replaced, not modified
+    private final Map<ModuleElementImpl, List<ArchiveContents>> contentsByModule = new ConcurrentHashMap<>();
+    private final ModuleReadability readability = new ModuleReadability(this);
     private final TypeLookup lookup;
 
     public TypePool(boolean analyzeModules) {
@@ -57,6 +84,7 @@ public final class TypePool implements AutoCloseable {
         lookup = new TypeLookup(this);
         unnamedModule = new UnnamedModuleImpl(getLookup());
         modules.put("", unnamedModule);
+        readability.register(unnamedModule);
     }
 
     public TypeLookup getLookup() {
@@ -75,6 +103,146 @@ public final class TypePool implements AutoCloseable {
         return new ArrayList<>(modules.values());
     }
 
+    /**
+     * Returns all the packages with the given name in all the registered modules. A package split across several
+     * archives of a single module is represented by a single package element.
+     *
+     * @param name
+     *            the fully qualified name of the package
+     * 
+     * @return the packages keyed by the modules they're contained in, in the order of module registration
+     */
+    public Map<ModuleElementImpl, PackageElementImpl> getPackagesByName(String name) {
+        Map<ModuleElementImpl, PackageElementImpl> ret = packagesByName.get(name);
+        return ret == null ? emptyMap() : ret;
+    }
+
+    /**
+     * Checks whether the {@code reader} module can read the types of the {@code target} module according to the JPMS
+     * rules.
+     */
+    public boolean reads(ModuleElementImpl reader, ModuleElementImpl target) {
+        return readability.reads(reader, target);
+    }
+
+    /**
+     * Finds a type in the module by its fully qualified name. Only the candidate types with matching names are
+     * instantiated.
+     *
+     * @param module
+     *            the module to look in
+     * @param qualifiedName
+     *            the fully qualified name of the type
+     * 
+     * @return the type or null if no such type is contained in the module
+     */
+    public @Nullable TypeElementImpl getTypeByQualifiedName(ModuleElementImpl module, CharSequence qualifiedName) {
+        for (ArchiveContents contents : contentsByModule.getOrDefault(module, emptyList())) {
+            for (String internalName : contents.getTypeCandidates(qualifiedName)) {
+                PackageElementImpl pkg = getPackagesByName(Packages.getPackageNameFromInternalName(internalName))
+                        .get(module);
+                TypeElementImpl type = pkg == null ? null : pkg.getType(internalName);
+                if (type != null && type.getQualifiedName().contentEquals(qualifiedName)) {
+                    return type;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the types whose names match the provided filters. The filters are evaluated against the contents of the
+     * archives, only the matching types are instantiated and only when the stream gets to them.
+     *
+     * @param packageFilter
+     *            the filter on the fully qualified names of the packages
+     * @param typeFilter
+     *            the filter on the binary names of the types relative to their packages, e.g. {@code Outer$Inner}
+     * 
+     * @return the stream of the matching types from all the reachable modules
+     */
+    public Stream<TypeElementImpl> findTypes(Predicate<String> packageFilter, Predicate<String> typeFilter) {
+        return getModules().stream().flatMap(
+                module -> contentsByModule.getOrDefault(module, emptyList()).stream().flatMap(contents -> contents
+                        .getTypes().entrySet().stream().filter(e -> packageFilter.test(e.getKey())).flatMap(e -> {
+                            PackageElementImpl pkg = getPackagesByName(e.getKey()).get(module);
+                            int prefixLength = e.getKey().isEmpty() ? 0 : e.getKey().length() + 1;
+                            return e.getValue().stream()
+                                    .filter(cd -> typeFilter.test(cd.getName().substring(prefixLength)))
+                                    .map(cd -> getOrCreateType(contents.getArchive(), cd, pkg));
+                        })))
+                .distinct();
+    }
+
+    /**
+     * Finds the types in the module that directly extend or implement a type with the provided internal name. The
+     * candidates are looked up in the index built from the class headers, only the found types are instantiated and
+     * only when the stream gets to them. The caller needs to check that the supertype actually resolves to the expected
+     * type from the module.
+     *
+     * @param module
+     *            the module to look in
+     * @param internalName
+     *            the internal name of the supertype
+     *
+     * @return the stream of the direct subtypes contained in the module
+     */
+    public Stream<TypeElementImpl> findDirectSubtypes(ModuleElementImpl module, String internalName) {
+        return contentsByModule.getOrDefault(module, emptyList()).stream()
+                .flatMap(contents -> contents.getDirectSubtypes(internalName).stream().map(name -> {
+                    PackageElementImpl pkg = getPackagesByName(Packages.getPackageNameFromInternalName(name))
+                            .get(module);
+                    return pkg == null ? null : pkg.getType(name);
+                })).filter(Objects::nonNull);
+    }
+
+    /**
+     * Finds the elements annotated with the annotation with the provided descriptor. The usages of the annotation are
+     * looked up in the index built from the class files, only the annotated elements are instantiated and only when the
+     * stream gets to them. The annotation type itself is not resolved.
+     *
+     * @param annotationDescriptor
+     *            the descriptor of the annotation type
+     *
+     * @return the stream of the annotated elements from all the reachable modules
+     */
+    public Stream<ElementImpl> findAnnotatedElements(String annotationDescriptor) {
+        return getModules().stream()
+                .flatMap(module -> contentsByModule.getOrDefault(module, emptyList()).stream()
+                        .flatMap(contents -> contents.getAnnotationUsages(annotationDescriptor).stream())
+                        .map(usage -> findAnnotatedElement(module, usage)))
+                .filter(Objects::nonNull).distinct();
+    }
+
+    private @Nullable ElementImpl findAnnotatedElement(ModuleElementImpl module, AnnotationUsage usage) {
+        String typeName = usage.getTypeInternalName();
+        PackageElementImpl pkg = getPackagesByName(Packages.getPackageNameFromInternalName(typeName)).get(module);
+        if (pkg == null) {
+            return null;
+        }
+
+        if (typeName.endsWith("package-info")) {
+            return pkg;
+        }
+
+        TypeElementImpl type = pkg.getType(typeName);
+        String memberName = usage.getMemberName();
+        String memberDescriptor = usage.getMemberDescriptor();
+        if (type == null || memberName == null || memberDescriptor == null) {
+            return type;
+        }
+
+        ElementImpl member = memberDescriptor.startsWith("(") ? type.getMethod(memberName, memberDescriptor)
+                : type.getField(memberName);
+        int paramIndex = usage.getParameterIndex();
+        if (paramIndex < 0 || !(member instanceof ExecutableElementImpl)) {
+            return member;
+        }
+
+        return ((ExecutableElementImpl) member).getParameterByDescriptorIndex(paramIndex);
+    }
+
     ModuleElementImpl getJavaBase() {
         ModuleElementImpl javaBase = analyzeModules ? modules.get("java.base") : unnamedModule;
         if (javaBase == null) {
@@ -85,22 +253,108 @@ public final class TypePool implements AutoCloseable {
     }
 
     public void registerArchive(Archive archive) {
+        register(prepare(archive));
+    }
+
+    /**
+     * Registers several archives at once. The archives are scanned and their module descriptors parsed in parallel
+     * using the provided executor. Only the final registration of the results is serialized and it happens in the order
+     * of the provided archives, so the result is the same as if the archives were registered one by one. E.g. out of
+     * several archives declaring a module of the same name, the first one always wins.
+     *
+     * @param archives
+     *            the archives to register
+     * @param executor
+     *            the executor to scan the archives with
+     */
+    public void registerArchives(List<Archive> archives, Executor executor) {
+        List<CompletableFuture<PreparedArchive>> prepared = new ArrayList<>(archives.size());
+        for (Archive a : archives) {
+            prepared.add(CompletableFuture.supplyAsync(() -> prepare(a), executor));
+        }
+
+        for (CompletableFuture<PreparedArchive> p : prepared) {
+            PreparedArchive archive;
+            try {
+                archive = p.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            register(archive);
+        }
+    }
+
+    /**
+     * Does all the work needed to register the archive that doesn't touch the state of the pool, so that it can be done
+     * in parallel for several archives.
+     */
+    private PreparedArchive prepare(Archive archive) {
+        ArchiveContents contents = new ArchiveContents(archive);
+        ModuleElementImpl module = parseNewModule(contents);
+        // make sure the archive is scanned
+        contents.getPackages();
+        return new PreparedArchive(contents, module);
+    }
+
+    private void register(PreparedArchive prepared) {
+        ArchiveContents contents = prepared.contents;
+        ModuleElementImpl module = prepared.module;
+        Archive archive = contents.getArchive();
         synchronized (modules) {
             archives.add(archive);
-            ArchiveContents contents = new ArchiveContents(archive);
-            ModuleElementImpl module = parseNewModule(contents);
-            if (module != unnamedModule) {
-                modules.putIfAbsent(module.getQualifiedName().asString(), module);
-            }
+            // a module with the same name as some already registered module is never reachable, so there's no point
+            // in indexing its packages
+            boolean reachable = module == unnamedModule
+                    || modules.putIfAbsent(module.getQualifiedName().asString(), module) == null;
 
-            module.addPackageGatherer(pkgs -> contents.getPackages().forEach((name, data) -> {
-                PackageElementImpl pkg = pkgs.computeIfAbsent(name,
+            List<PackageElementImpl> archivePackages = new ArrayList<>(contents.getPackages().size());
+            contents.getPackages().forEach((name, data) -> {
+                PackageElementImpl pkg = module.getMutablePackages().computeIfAbsent(name,
                         __ -> new PackageElementImpl(lookup, name, lazyParse(data), analyzeModules ? module : null));
-                pkg.addTypeGatherer(() -> contents.getTypes().get(name).stream()
-                        .map(cd -> new TypeElementImpl(lookup, archive, cd.getName(), lazyParse(cd), pkg))
-                        .collect(Collectors.toList()));
-            }));
+                pkg.addTypeGatherer(() -> contents.getTypes().getOrDefault(name, emptySet()).stream()
+                        .map(cd -> getOrCreateType(archive, cd, pkg)).collect(Collectors.toList()));
+                pkg.addTypeResolver(internalName -> {
+                    ClassData cd = contents.getClassData(internalName);
+                    return cd == null ? null : getOrCreateType(archive, cd, pkg);
+                });
+
+                archivePackages.add(pkg);
+
+                if (reachable) {
+                    indexPackage(module, pkg);
+                }
+            });
+
+            module.addPackageGatherer(
+                    pkgs -> archivePackages.forEach(pkg -> pkgs.put(pkg.getQualifiedName().asString(), pkg)));
+
+            if (reachable) {
+                readability.register(module);
+
+                List<ArchiveContents> moduleContents = new ArrayList<>(
+                        contentsByModule.getOrDefault(module, emptyList()));
+                moduleContents.add(contents);
+                contentsByModule.put(module, moduleContents);
+            }
+        }
+    }
+
+    private TypeElementImpl getOrCreateType(Archive archive, ClassData data, PackageElementImpl pkg) {
+        return pkg.getMutableTypes().computeIfAbsent(data.getName(),
+                name -> new TypeElementImpl(lookup, archive, name, lazyParse(data), pkg));
+    }
+
+    private void indexPackage(ModuleElementImpl module, PackageElementImpl pkg) {
+        String name = pkg.getQualifiedName().asString();
+        Map<ModuleElementImpl, PackageElementImpl> existing = getPackagesByName(name);
+        if (existing.get(module) == pkg) {
+            // a package split across several archives of the same module
+            return;
         }
+
+        Map<ModuleElementImpl, PackageElementImpl> updated = new LinkedHashMap<>(existing);
+        updated.put(module, pkg);
+        packagesByName.put(name, unmodifiableMap(updated));
     }
 
     private ModuleElementImpl parseNewModule(ArchiveContents contents) {
@@ -130,34 +384,32 @@ public final class TypePool implements AutoCloseable {
     }
 
     public void addModulesClosure() {
-        Set<String> todo = new HashSet<>(modules.keySet());
+        Set<String> seen = new HashSet<>(modules.keySet());
+        Deque<String> todo = new ArrayDeque<>(seen);
 
         while (!todo.isEmpty()) {
-            Iterator<String> it = todo.iterator();
-            while (it.hasNext()) {
-                String moduleName = it.next();
-                it.remove();
-                ModuleElementImpl m = modules.get(moduleName);
-                if (m == null) {
-                    continue;
-                }
+            ModuleElementImpl m = modules.get(todo.poll());
+            if (m == null) {
+                continue;
+            }
 
-                m.getReachableModules().forEach(reachable -> {
-                    String dep = reachable.getModuleName();
-                    addModule(dep);
+            m.getReachableModules().forEach(reachable -> {
+                String dep = reachable.getModuleName();
+                addModule(dep);
 
-                    if (reachable.isTransitive()) {
-                        todo.add(reachable.getModuleName());
-                    }
-                });
-            }
+                if (reachable.isTransitive() && seen.add(dep)) {
+                    todo.add(dep);
+                }
+            });
         }
     }
 
     @Override
     public void close() throws Exception {
-        for (Archive s : archives) {
-            s.close();
+        synchronized (modules) {
+            for (Archive s : archives) {
+                s.close();
+            }
         }
     }
 
@@ -168,4 +420,14 @@ public final class TypePool implements AutoCloseable {
     private @Nullable ClassNode eagerParse(@Nullable ClassData data) {
         return data == null ? null : failWithRuntimeException(() -> parseClass(new ClassReader(data.read())));
     }
+
+    private static final class PreparedArchive {
+        final ArchiveContents contents;
+        final ModuleElementImpl module;
+
+        PreparedArchive(ArchiveContents contents, ModuleElementImpl module) {
+            this.contents = contents;
+            this.module = module;
+        }
+    }
 }
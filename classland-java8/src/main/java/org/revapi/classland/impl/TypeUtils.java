@@ -40,7 +40,6 @@ import org.revapi.classland.impl.model.anno.AnnotationSource;
 import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
 import org.revapi.classland.impl.model.element.*;
 import org.revapi.classland.impl.model.mirror.*;
-import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Nullable;
 import org.revapi.classland.impl.util.TypePairVisitor;
 
@@ -449,7 +448,7 @@ final class TypeUtils {
     private static final TypeVisitor<TypeMirrorImpl, TypeLookup> GET_SUPER_TYPE = new SimpleTypeVisitor8<TypeMirrorImpl, TypeLookup>() {
         @Override
         protected TypeMirrorImpl defaultAction(TypeMirror e, TypeLookup lookup) {
-            return new NoTypeImpl(lookup, MemoizedValue.obtainedEmptyList(), TypeKind.NONE);
+            return lookup.canonicalTypes.noType();
         }
 
         @Override
@@ -664,6 +663,10 @@ final class TypeUtils {
      * @return true if subClass is sub-class of the superClass, false otherwise
      */
     static boolean isSubclass(TypeElement subClass, TypeElement superClass) {
+        if (subClass instanceof TypeElementBase && superClass instanceof TypeElementBase) {
+            return ((TypeElementBase) subClass).getSupertypeClosure().hasSuperclass((TypeElementBase) superClass);
+        }
+
         while (subClass != null) {
             if (subClass == superClass) {
                 return true;
@@ -707,6 +710,16 @@ final class TypeUtils {
             return true;
         }
 
+        if (subType.getKind() == TypeKind.DECLARED && superType.getKind() == TypeKind.DECLARED
+                && hasNoTypeArguments((DeclaredType) superType)) {
+            // any parameterization of a type is a subtype of a non-generic or raw type if its class is, so there's no
+            // need to capture and compare the type arguments
+            TypeElementBase subElement = ((DeclaredTypeImpl) subType).asElement();
+            TypeElementBase superElement = ((DeclaredTypeImpl) superType).asElement();
+            return superElement == ssuperType.getLookup().getJavaLangObject()
+                    || subElement.getSupertypeClosure().hasSupertype(superElement);
+        }
+
         if (capture) {
             subType = capture(subType, ssuperType.getLookup());
         }
@@ -714,6 +727,19 @@ final class TypeUtils {
         return IS_SUB_TYPE.visit(subType, ssuperType);
     }
 
+    private static boolean hasNoTypeArguments(DeclaredType type) {
+        TypeMirror t = type;
+        while (t.getKind() == TypeKind.DECLARED) {
+            DeclaredType dt = (DeclaredType) t;
+            if (!dt.getTypeArguments().isEmpty()) {
+                return false;
+            }
+            t = dt.getEnclosingType();
+        }
+
+        return true;
+    }
+
     /**
      * This assumes that element is part of the target type or some of its supertypes.
      */
@@ -751,7 +777,16 @@ final class TypeUtils {
             return decl.asType();
         }
 
-        return AS_MEMBER.visit(owner, (ElementImpl) decl);
+        ElementImpl member = (ElementImpl) decl;
+        return member.getLookup().getMemberType((TypeMirrorImpl) owner, member);
+    }
+
+    /**
+     * The uncached implementation of {@link #asMemberOf(DeclaredType, Element)}, see
+     * {@link TypeLookup#getMemberType(TypeMirrorImpl, ElementImpl)}.
+     */
+    static TypeMirrorImpl computeAsMemberOf(TypeMirrorImpl owner, ElementImpl member) {
+        return AS_MEMBER.visit(owner, member);
     }
 
     static List<TypeMirrorImpl> getAllTypeParameters(DeclaredTypeImpl type) {
@@ -808,8 +843,7 @@ final class TypeUtils {
     }
 
     static boolean isHiddenIn(Element element, TypeElement owner) {
-        // TODO implement
-        return false;
+        return ((TypeElementBase) owner).getMemberTable().isHidden((ElementImpl) element);
     }
 
     static boolean hasSameBounds(List<? extends TypeVariable> as, List<? extends TypeVariable> bs) {
@@ -831,7 +865,8 @@ final class TypeUtils {
     }
 
     static boolean isSameType(TypeMirror t1, TypeMirror t2) {
-        return IS_SAME_TYPE.visit(t1, t2);
+        // the unannotated types are canonical, so there's no need to compare them structurally
+        return t1 == t2 || IS_SAME_TYPE.visit(t1, t2);
     }
 
     static TypeMirrorImpl getSuperType(TypeMirror t, TypeLookup tl) {
@@ -1319,7 +1354,7 @@ final class TypeUtils {
 
         @Override
         public TypeMirrorImpl visitError(ErrorType t, Void unused) {
-            return new NoTypeImpl(((TypeMirrorImpl) t).getLookup(), MemoizedValue.obtainedEmptyList(), TypeKind.NONE);
+            return ((TypeMirrorImpl) t).getLookup().canonicalTypes.noType();
         }
     };
 
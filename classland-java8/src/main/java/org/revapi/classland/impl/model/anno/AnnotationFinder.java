@@ -16,17 +16,11 @@
  */
 package org.revapi.classland.impl.model.anno;
 
-import static java.util.stream.Collectors.toList;
-
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
-import org.objectweb.asm.TypePath;
-import org.objectweb.asm.TypeReference;
 import org.objectweb.asm.tree.AnnotationNode;
 import org.objectweb.asm.tree.TypeAnnotationNode;
-import org.revapi.classland.impl.util.Nullable;
 
 public class AnnotationFinder {
 
@@ -40,21 +34,37 @@ public class AnnotationFinder {
             ret.addAll(annotationSource.getInvisibleAnnotations());
             return ret;
         } else {
-            TypeReference ref = path.ref;
-            TypePath p = path.stepsAsTypePath();
-            Stream<TypeAnnotationNode> typeAnnos = Stream.concat(annotationSource.getVisibleTypeAnnotations().stream(),
-                    annotationSource.getInvisibleTypeAnnotations().stream()).filter(a -> matches(a, ref, p));
-
-            Stream<AnnotationNode> annos = onlyTypeUse ? Stream.empty()
-                    : Stream.concat(annotationSource.getVisibleAnnotations().stream(),
-                            annotationSource.getInvisibleAnnotations().stream());
+            List<TypeAnnotationNode> typeAnnos = annotationSource.getTypeAnnotationIndex().get(path.ref.getValue(),
+                    path);
+            if (onlyTypeUse) {
+                return new ArrayList<>(typeAnnos);
+            }
 
-            return Stream.concat(annos, typeAnnos).collect(toList());
+            ArrayList<AnnotationNode> ret = new ArrayList<>(annotationSource.getVisibleAnnotations());
+            ret.addAll(annotationSource.getInvisibleAnnotations());
+            ret.addAll(typeAnnos);
+            return ret;
         }
     }
 
-    private static boolean matches(TypeAnnotationNode anno, TypeReference ref, @Nullable TypePath path) {
-        return anno.typeRef == ref.getValue() && ((anno.typePath == null && path == null)
-                || (anno.typePath != null && path != null && anno.typePath.toString().equals(path.toString())));
+    /**
+     * Checks whether {@link #find(AnnotationTargetPath, AnnotationSource, boolean)} would return an annotation with the
+     * provided descriptor, but without collecting the annotations.
+     */
+    public static boolean contains(AnnotationTargetPath path, AnnotationSource annotationSource, boolean onlyTypeUse,
+            String descriptor) {
+        if ((path.ref == null || !onlyTypeUse) && annotationSource.hasAnnotation(descriptor)) {
+            return true;
+        }
+
+        if (path.ref != null) {
+            for (TypeAnnotationNode a : annotationSource.getTypeAnnotationIndex().get(path.ref.getValue(), path)) {
+                if (a.desc.equals(descriptor)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 }
@@ -17,8 +17,12 @@
 package org.revapi.classland.impl.model.anno;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.objectweb.asm.Type;
@@ -56,6 +60,10 @@ public abstract class AnnotationSource {
 
     public static final MemoizedValue<AnnotationSource> MEMOIZED_EMPTY = MemoizedValue.obtained(EMPTY);
 
+    // racy but harmless - the index and the set are immutable and always the same
+    private volatile @Nullable TypeAnnotationIndex typeAnnotationIndex;
+    private volatile @Nullable Set<String> annotationDescriptors;
+
     private AnnotationSource() {
 
     }
@@ -189,6 +197,55 @@ public abstract class AnnotationSource {
         };
     }
 
+    /**
+     * @return the descriptors of the visible and invisible declaration annotations in this source
+     */
+    public Set<String> getAnnotationDescriptors() {
+        Set<String> ret = annotationDescriptors;
+        if (ret == null) {
+            List<AnnotationNode> visible = getVisibleAnnotations();
+            List<AnnotationNode> invisible = getInvisibleAnnotations();
+            if (visible.isEmpty() && invisible.isEmpty()) {
+                ret = emptySet();
+            } else {
+                Set<String> descs = new HashSet<>(visible.size() + invisible.size(), 1);
+                visible.forEach(a -> descs.add(a.desc));
+                invisible.forEach(a -> descs.add(a.desc));
+                ret = unmodifiableSet(descs);
+            }
+            annotationDescriptors = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Checks for a declaration annotation without resolving any of the annotation types.
+     *
+     * @param descriptor
+     *            the descriptor of the annotation type, e.g. {@code Ljava/lang/Deprecated;}
+     *
+     * @return true if there is a visible or invisible declaration annotation of the type in this source
+     */
+    public boolean hasAnnotation(String descriptor) {
+        return getAnnotationDescriptors().contains(descriptor);
+    }
+
+    /**
+     * @return true if there are any visible or invisible type annotations in this source
+     */
+    public boolean hasTypeAnnotations() {
+        return !getVisibleTypeAnnotations().isEmpty() || !getInvisibleTypeAnnotations().isEmpty();
+    }
+
+    TypeAnnotationIndex getTypeAnnotationIndex() {
+        TypeAnnotationIndex ret = typeAnnotationIndex;
+        if (ret == null) {
+            ret = TypeAnnotationIndex.build(getVisibleTypeAnnotations(), getInvisibleTypeAnnotations());
+            typeAnnotationIndex = ret;
+        }
+        return ret;
+    }
+
     public abstract List<AnnotationNode> getVisibleAnnotations();
 
     public abstract List<AnnotationNode> getInvisibleAnnotations();
@@ -20,49 +20,102 @@ import org.objectweb.asm.TypePath;
 import org.objectweb.asm.TypeReference;
 import org.revapi.classland.impl.util.Nullable;
 
-public class AnnotationTargetPath implements Cloneable {
+/**
+ * The position of a type within a type reference. The paths are immutable and each step only points to the path it
+ * extends, so all the positions within a single signature share their common prefixes. The paths are compared directly
+ * to the ASM {@link TypePath}s of the type annotations without converting either of them to a string.
+ */
+public final class AnnotationTargetPath {
     public static final AnnotationTargetPath ROOT = new AnnotationTargetPath(null);
 
     public final @Nullable TypeReference ref;
-    private final StringBuilder typePathSteps = new StringBuilder();
+    private final @Nullable AnnotationTargetPath parent;
+    private final int step;
+    private final int stepArgument;
+    private final int length;
+    private final int hash;
 
     public AnnotationTargetPath(@Nullable TypeReference ref) {
         this.ref = ref;
+        this.parent = null;
+        this.step = -1;
+        this.stepArgument = 0;
+        this.length = 0;
+        this.hash = 0;
     }
 
     public AnnotationTargetPath(int typeReferenceSort) {
         this(TypeReference.newTypeReference(typeReferenceSort));
     }
 
+    private AnnotationTargetPath(AnnotationTargetPath parent, int step, int stepArgument) {
+        this.ref = parent.ref;
+        this.parent = parent;
+        this.step = step;
+        this.stepArgument = stepArgument;
+        this.length = parent.length + 1;
+        this.hash = hashStep(parent.hash, step, stepArgument);
+    }
+
     public AnnotationTargetPath array() {
-        typePathSteps.append('[');
-        return this;
+        return new AnnotationTargetPath(this, TypePath.ARRAY_ELEMENT, 0);
     }
 
     public AnnotationTargetPath innerType() {
-        typePathSteps.append('.');
-        return this;
+        return new AnnotationTargetPath(this, TypePath.INNER_TYPE, 0);
     }
 
     public AnnotationTargetPath wildcardBound() {
-        typePathSteps.append('*');
-        return this;
+        return new AnnotationTargetPath(this, TypePath.WILDCARD_BOUND, 0);
     }
 
     public AnnotationTargetPath typeArgument(int index) {
-        typePathSteps.append(index).append(';');
-        return this;
+        return new AnnotationTargetPath(this, TypePath.TYPE_ARGUMENT, index);
+    }
+
+    /**
+     * @return the hash of the steps of this path, the same as {@link #typePathHashCode(TypePath)} of the equivalent
+     *         type path
+     */
+    int typePathHashCode() {
+        return hash;
+    }
+
+    /**
+     * @return true if this path has the same steps as the provided type path. A null type path is the same as no steps.
+     */
+    boolean typePathEquals(@Nullable TypePath typePath) {
+        if (typePath == null) {
+            return length == 0;
+        }
+
+        if (typePath.getLength() != length) {
+            return false;
+        }
+
+        AnnotationTargetPath p = this;
+        for (int i = length - 1; i >= 0; --i) {
+            if (p.step != typePath.getStep(i) || p.stepArgument != typePath.getStepArgument(i)) {
+                return false;
+            }
+            p = p.parent;
+        }
+
+        return true;
     }
 
-    public TypePath stepsAsTypePath() {
-        return TypePath.fromString(typePathSteps.toString());
+    static int typePathHashCode(@Nullable TypePath typePath) {
+        int h = 0;
+        if (typePath != null) {
+            for (int i = 0; i < typePath.getLength(); ++i) {
+                h = hashStep(h, typePath.getStep(i), typePath.getStepArgument(i));
+            }
+        }
+        return h;
     }
 
-    @Override
-    @SuppressWarnings("MethodDoesntCallSuperMethod")
-    public AnnotationTargetPath clone() {
-        AnnotationTargetPath ret = new AnnotationTargetPath(ref);
-        ret.typePathSteps.append(this.typePathSteps);
-        return ret;
+    private static int hashStep(int hash, int step, int stepArgument) {
+        // the steps are in the range 0-3
+        return 31 * hash + (stepArgument << 2 | step);
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.model.anno;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.objectweb.asm.TypePath;
+import org.objectweb.asm.tree.TypeAnnotationNode;
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * The type annotations of an {@link AnnotationSource} keyed by their type reference and type path. Finding the
+ * annotations of a single type position is then a hash lookup instead of a scan through all the type annotations of the
+ * source. The type paths are compared step by step with the {@link AnnotationTargetPath}, so the lookup doesn't
+ * allocate anything.
+ */
+final class TypeAnnotationIndex {
+    static final TypeAnnotationIndex EMPTY = new TypeAnnotationIndex(new Entry[1], 0);
+
+    private final Entry[] table;
+    private final int size;
+
+    private TypeAnnotationIndex(Entry[] table, int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    static TypeAnnotationIndex build(List<TypeAnnotationNode> visible, List<TypeAnnotationNode> invisible) {
+        int count = visible.size() + invisible.size();
+        if (count == 0) {
+            return EMPTY;
+        }
+
+        // a power of two at least twice the number of annotations to keep the chains short
+        Entry[] table = new Entry[Integer.highestOneBit(count) << 2];
+        int size = add(table, visible, 0);
+        size = add(table, invisible, size);
+
+        for (Entry e : table) {
+            for (; e != null; e = e.next) {
+                e.annotations = unmodifiableList(e.annotations);
+            }
+        }
+
+        return new TypeAnnotationIndex(table, size);
+    }
+
+    private static int add(Entry[] table, List<TypeAnnotationNode> annos, int size) {
+        for (TypeAnnotationNode anno : annos) {
+            int hash = hash(anno.typeRef, AnnotationTargetPath.typePathHashCode(anno.typePath));
+            int idx = hash & (table.length - 1);
+            Entry e = table[idx];
+            while (e != null && !(e.typeRef == anno.typeRef && e.hash == hash && same(e.typePath, anno.typePath))) {
+                e = e.next;
+            }
+            if (e == null) {
+                e = new Entry(anno.typeRef, anno.typePath, hash, table[idx]);
+                table[idx] = e;
+                size++;
+            }
+            e.annotations.add(anno);
+        }
+        return size;
+    }
+
+    private static boolean same(@Nullable TypePath a, @Nullable TypePath b) {
+        int length = a == null ? 0 : a.getLength();
+        if (length != (b == null ? 0 : b.getLength())) {
+            return false;
+        }
+
+        for (int i = 0; i < length; ++i) {
+            if (a.getStep(i) != b.getStep(i) || a.getStepArgument(i) != b.getStepArgument(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int hash(int typeRef, int typePathHash) {
+        int h = 31 * typeRef + typePathHash;
+        return h ^ (h >>> 16);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the type annotations on the type position with the provided type reference and path
+     */
+    List<TypeAnnotationNode> get(int typeRef, AnnotationTargetPath path) {
+        int hash = hash(typeRef, path.typePathHashCode());
+        for (Entry e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+            if (e.typeRef == typeRef && e.hash == hash && path.typePathEquals(e.typePath)) {
+                return e.annotations;
+            }
+        }
+        return emptyList();
+    }
+
+    private static final class Entry {
+        final int typeRef;
+        final @Nullable TypePath typePath;
+        final int hash;
+        final @Nullable Entry next;
+        List<TypeAnnotationNode> annotations = new ArrayList<>(1);
+
+        Entry(int typeRef, @Nullable TypePath typePath, int hash, @Nullable Entry next) {
+            this.typeRef = typeRef;
+            this.typePath = typePath;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
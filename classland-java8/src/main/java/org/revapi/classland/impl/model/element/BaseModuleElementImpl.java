@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -81,7 +82,7 @@ public abstract class BaseModuleElementImpl extends ElementImpl {
 
         this.type = memoize(() -> new NoTypeImpl(lookup, annos, actualKind));
 
-        this.packageGatherers = new ArrayList<>();
+        this.packageGatherers = new CopyOnWriteArrayList<>();
         this.gatheredPackages = initGatheredPackages(packageGatherers);
         this.packages = gatheredPackages.map(m -> new ArrayList<>(m.values()));
     }
@@ -94,7 +95,7 @@ public abstract class BaseModuleElementImpl extends ElementImpl {
         this.name = NameImpl.of(moduleName);
         this.annos = obtained(emptyList());
         this.type = memoize(() -> new NoTypeImpl(lookup, annos, actualKind));
-        this.packageGatherers = new ArrayList<>();
+        this.packageGatherers = new CopyOnWriteArrayList<>();
         this.gatheredPackages = initGatheredPackages(packageGatherers);
         this.packages = gatheredPackages.map(m -> new ArrayList<>(m.values()));
     }
@@ -128,6 +129,13 @@ public abstract class BaseModuleElementImpl extends ElementImpl {
         return Stream.empty();
     }
 
+    /**
+     * @return true if this is an automatic module, i.e. a named module without a module descriptor
+     */
+    public boolean isAutomatic() {
+        return module == null && name.length() != 0;
+    }
+
     @Override
     public TypeMirrorImpl asType() {
         return type.get();
@@ -16,13 +16,16 @@
  */
 package org.revapi.classland.impl.model.element;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.lang.model.element.Element;
 
 import org.revapi.classland.impl.TypeLookup;
 import org.revapi.classland.impl.model.AnnotatedConstructImpl;
 import org.revapi.classland.impl.model.NameImpl;
+import org.revapi.classland.impl.model.anno.AnnotationFinder;
 import org.revapi.classland.impl.model.anno.AnnotationSource;
 import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
 import org.revapi.classland.impl.model.mirror.AnnotationMirrorImpl;
@@ -31,13 +34,74 @@ import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Nullable;
 
 public abstract class ElementImpl extends AnnotatedConstructImpl implements Element {
+    private static final String DEPRECATED_DESCRIPTOR = "Ljava/lang/Deprecated;";
+
+    // these are null if the element was created with an explicit list of annotations
+    private final @Nullable MemoizedValue<AnnotationSource> annotationSource;
+    private final @Nullable AnnotationTargetPath annotationPath;
+
     protected ElementImpl(TypeLookup lookup, MemoizedValue<AnnotationSource> annotationSource,
             AnnotationTargetPath path, MemoizedValue<@Nullable ModuleElementImpl> typeLookupSeed) {
         super(lookup, annotationSource, path, typeLookupSeed, false);
+        this.annotationSource = annotationSource;
+        this.annotationPath = path;
     }
 
     protected ElementImpl(TypeLookup lookup, MemoizedValue<List<AnnotationMirrorImpl>> annos) {
         super(lookup, annos);
+        this.annotationSource = null;
+        this.annotationPath = null;
+    }
+
+    /**
+     * @return the annotation source this element was created with, shared by all the users of the source
+     *
+     * @throws IllegalStateException
+     *             if this element was created with an explicit list of annotations
+     */
+    protected final MemoizedValue<AnnotationSource> getAnnotationSource() {
+        if (annotationSource == null) {
+            throw new IllegalStateException("Element " + this + " was not created from an annotation source.");
+        }
+        return annotationSource;
+    }
+
+    /**
+     * Checks whether this element is annotated with the annotation of the provided type. This is decided from the
+     * descriptors in the class file, so neither the annotation mirrors are created nor the annotation types resolved.
+     *
+     * @param descriptor
+     *            the descriptor of the annotation type, e.g. {@code Ljava/lang/Deprecated;}
+     *
+     * @return true if {@link #getAnnotationMirrors()} contains an annotation of the type
+     */
+    public boolean hasAnnotation(String descriptor) {
+        if (annotationSource == null || annotationPath == null) {
+            for (AnnotationMirrorImpl a : getAnnotationMirrors()) {
+                String internalName = a.getAnnotationType().asElement().getInternalName();
+                if (descriptor.length() == internalName.length() + 2 && descriptor.startsWith(internalName, 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return AnnotationFinder.contains(annotationPath, annotationSource.get(), false, descriptor);
+    }
+
+    /**
+     * @return the descriptors of the declaration annotations of this element, without resolving their types
+     */
+    public Set<String> getAnnotationDescriptors() {
+        if (annotationSource == null) {
+            Set<String> ret = new HashSet<>();
+            for (AnnotationMirrorImpl a : getAnnotationMirrors()) {
+                ret.add("L" + a.getAnnotationType().asElement().getInternalName() + ";");
+            }
+            return ret;
+        }
+
+        return annotationSource.get().getAnnotationDescriptors();
     }
 
     public boolean isDeprecated() {
@@ -45,8 +109,7 @@ public abstract class ElementImpl extends AnnotatedConstructImpl implements Elem
     }
 
     protected boolean isAnnotatedDeprecated() {
-        return getAnnotationMirrors().stream().anyMatch(
-                a -> a.getAnnotationType().asElement().getQualifiedName().contentEquals("java.lang.Deprecated"));
+        return hasAnnotation(DEPRECATED_DESCRIPTOR);
     }
 
     @Override
@@ -24,7 +24,6 @@ import static org.objectweb.asm.TypeReference.newTypeReference;
 import static org.revapi.classland.impl.model.mirror.AnnotationValueImpl.fromAsmValue;
 import static org.revapi.classland.impl.model.signature.SignatureParser.parseInternalName;
 import static org.revapi.classland.impl.util.Asm.hasFlag;
-import static org.revapi.classland.impl.util.MemoizedValue.memoize;
 import static org.revapi.classland.impl.util.MemoizedValue.obtained;
 
 import java.util.ArrayList;
@@ -33,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Stream;
 
 import javax.lang.model.element.Element;
@@ -55,177 +55,184 @@ import org.revapi.classland.impl.model.signature.GenericMethodParameters;
 import org.revapi.classland.impl.model.signature.SignatureParser;
 import org.revapi.classland.impl.model.signature.TypeParameterBound;
 import org.revapi.classland.impl.model.signature.TypeSignature;
+import org.revapi.classland.impl.util.MemoizedSlots;
+import org.revapi.classland.impl.util.MemoizedSlots.Slot;
 import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Modifiers;
 import org.revapi.classland.impl.util.Nullable;
 
 public final class ExecutableElementImpl extends ExecutableElementBase {
+    private static final MemoizedSlots<ExecutableElementImpl> SLOTS = new MemoizedSlots<>();
+    private static final Slot<ExecutableElementImpl, GenericMethodParameters> SIGNATURE = SLOTS
+            .slot(ExecutableElementImpl::computeSignature);
+    private static final Slot<ExecutableElementImpl, TypeMirrorImpl> RETURN_TYPE = SLOTS
+            .slot(e -> TypeMirrorFactory.create(e.lookup, e.getSignature().returnType, e, e.getAnnotationSource(),
+                    new AnnotationTargetPath(newTypeReference(METHOD_RETURN)), e.parent.lookupModule()));
+    private static final Slot<ExecutableElementImpl, TypeMirrorImpl> RECEIVER_TYPE = SLOTS
+            .slot(ExecutableElementImpl::computeReceiverType);
+    private static final Slot<ExecutableElementImpl, List<VariableElementImpl>> PARAMETERS = SLOTS
+            .onceSlot(ExecutableElementImpl::computeParameters);
+    private static final Slot<ExecutableElementImpl, ElementKind> ELEMENT_KIND = SLOTS
+            .slot(ExecutableElementImpl::computeElementKind);
+    private static final Slot<ExecutableElementImpl, Set<Modifier>> MODIFIERS = SLOTS
+            .slot(e -> Modifiers.toMethodModifiers(e.method.access));
+    private static final Slot<ExecutableElementImpl, Map<String, TypeParameterElementImpl>> TYPE_PARAMETER_MAP = SLOTS
+            .onceSlot(ExecutableElementImpl::computeTypeParameterMap);
+    private static final Slot<ExecutableElementImpl, List<TypeParameterElementImpl>> TYPE_PARAMETERS = SLOTS
+            .slot(e -> new ArrayList<>(TYPE_PARAMETER_MAP.get(e, e.memo).values()));
+    private static final Slot<ExecutableElementImpl, List<TypeMirrorImpl>> THROWN_TYPES = SLOTS
+            .slot(ExecutableElementImpl::computeThrownTypes);
+    private static final Slot<ExecutableElementImpl, TypeMirrorImpl> TYPE = SLOTS.slot(ExecutableTypeImpl::new);
+    private static final Slot<ExecutableElementImpl, AnnotationValueImpl> DEFAULT_VALUE = SLOTS
+            .slot(e -> e.method.annotationDefault == null ? null
+                    : fromAsmValue(e.lookup, e.method.annotationDefault, e.parent.lookupModule()));
+
     private final TypeElementImpl parent;
     private final MethodNode method;
     private final NameImpl name;
-    private final MemoizedValue<GenericMethodParameters> signature;
-    private final MemoizedValue<TypeMirrorImpl> returnType;
-    private final MemoizedValue<List<VariableElementImpl>> parameters;
-    private final MemoizedValue<ElementKind> elementKind;
-    private final MemoizedValue<Set<Modifier>> modifiers;
-    private final MemoizedValue<Map<String, TypeParameterElementImpl>> typeParameterMap;
-    private final MemoizedValue<List<TypeParameterElementImpl>> typeParameters;
-    private final MemoizedValue<? extends TypeMirrorImpl> receiverType;
-    private final MemoizedValue<List<TypeMirrorImpl>> thrownTypes;
-    private final MemoizedValue<TypeMirrorImpl> type;
-    private final @Nullable MemoizedValue<AnnotationValueImpl> defaultValue;
+    private final AtomicReferenceArray<Object> memo = SLOTS.newValues();
 
     public ExecutableElementImpl(TypeLookup lookup, TypeElementImpl parent, MethodNode method) {
         super(lookup, obtained(AnnotationSource.fromMethod(method)), AnnotationTargetPath.ROOT, parent.lookupModule());
         this.parent = parent;
         this.method = method;
         this.name = NameImpl.of(method.name);
-        Type methodType = Type.getMethodType(method.desc);
-        Type[] parameterTypes = methodType.getArgumentTypes();
-
-        this.signature = memoize(() -> {
-            if (method.signature == null) {
-                return new GenericMethodParameters(new LinkedHashMap<>(0, 0.01f),
-                        SignatureParser.parseTypeRef(methodType.getReturnType().getDescriptor()),
-                        Stream.of(methodType.getArgumentTypes())
-                                .map(t -> SignatureParser.parseTypeRef(t.getDescriptor())).collect(toList()),
-                        method.exceptions.stream().map(SignatureParser::parseInternalName).collect(toList()), parent);
-            } else {
-                return SignatureParser.parseMethod(method.signature, parent);
-            }
-        });
+    }
 
-        AnnotationSource annotationSource = AnnotationSource.fromMethod(method);
+    private GenericMethodParameters computeSignature() {
+        if (method.signature == null) {
+            Type methodType = Type.getMethodType(method.desc);
+            return new GenericMethodParameters(new LinkedHashMap<>(0, 0.01f),
+                    SignatureParser.parseTypeRef(methodType.getReturnType().getDescriptor()),
+                    Stream.of(methodType.getArgumentTypes()).map(t -> SignatureParser.parseTypeRef(t.getDescriptor()))
+                            .collect(toList()),
+                    method.exceptions.stream().map(SignatureParser::parseInternalName).collect(toList()), parent);
+        } else {
+            return SignatureParser.parseMethod(method.signature, parent);
+        }
+    }
 
-        this.returnType = signature
-                .map(s -> TypeMirrorFactory.create(lookup, s.returnType, this, obtained(annotationSource),
-                        new AnnotationTargetPath(newTypeReference(METHOD_RETURN)), parent.lookupModule()));
+    private TypeMirrorImpl computeReceiverType() {
+        // make sure the parent is parsed, as it used to be before we look at it
+        parent.getNode().get();
 
-        this.receiverType = parent.getNode().map(cls -> {
-            boolean isStaticMethod = hasFlag(method.access, Opcodes.ACC_STATIC);
+        boolean isStaticMethod = hasFlag(method.access, Opcodes.ACC_STATIC);
 
-            if (isStaticMethod) {
-                return new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE);
-            }
+        if (isStaticMethod) {
+            return lookup.canonicalTypes.noType();
+        }
 
-            boolean isStaticClass = parent.getModifiers().contains(Modifier.STATIC);
+        boolean isStaticClass = parent.getModifiers().contains(Modifier.STATIC);
 
-            if ("<init>".equals(method.name)) {
-                if (isStaticClass) {
-                    return new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE);
-                } else {
-                    return parent.getEnclosingElement().accept(new SimpleElementVisitor8<TypeMirrorImpl, Void>() {
-                        @Override
-                        protected TypeMirrorImpl defaultAction(Element e, Void aVoid) {
-                            return new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE);
-                        }
-
-                        @Override
-                        public TypeMirrorImpl visitType(TypeElement e, Void aVoid) {
-                            String parentInternalName = ((TypeElementBase) e).getInternalName();
-                            if (parameterTypes.length == 0
-                                    || parameterTypes[0].getInternalName().equals(parentInternalName)) {
-                                return TypeMirrorFactory.create(lookup, parseInternalName(parentInternalName),
-                                        ExecutableElementImpl.this, obtained(annotationSource),
-                                        new AnnotationTargetPath(TypeReference.newFormalParameterReference(0)),
-                                        parent.lookupModule());
-                            } else {
-                                return new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE);
-                            }
-                        }
-                    }, null);
-                }
+        if ("<init>".equals(method.name)) {
+            if (isStaticClass) {
+                return lookup.canonicalTypes.noType();
             } else {
-                boolean hasAnnotatedReceiverParam = (method.visibleAnnotableParameterCount > 0
-                        && method.visibleTypeAnnotations != null
-                        && method.visibleAnnotableParameterCount < method.visibleTypeAnnotations.size())
-                        || (method.visibleAnnotableParameterCount > 0 && method.invisibleTypeAnnotations != null
-                                && method.visibleAnnotableParameterCount < method.invisibleTypeAnnotations.size());
-
-                if (hasAnnotatedReceiverParam) {
-                    return TypeMirrorFactory.create(lookup, parseInternalName(parent.getInternalName()), this,
-                            obtained(annotationSource),
-                            new AnnotationTargetPath(TypeReference.newFormalParameterReference(0)),
-                            parent.lookupModule());
-                } else {
-                    return TypeMirrorFactory.create(lookup, parent, emptyList(), emptyList());
-                }
+                Type[] parameterTypes = Type.getArgumentTypes(method.desc);
+                return parent.getEnclosingElement().accept(new SimpleElementVisitor8<TypeMirrorImpl, Void>() {
+                    @Override
+                    protected TypeMirrorImpl defaultAction(Element e, Void aVoid) {
+                        return lookup.canonicalTypes.noType();
+                    }
+
+                    @Override
+                    public TypeMirrorImpl visitType(TypeElement e, Void aVoid) {
+                        String parentInternalName = ((TypeElementBase) e).getInternalName();
+                        if (parameterTypes.length == 0
+                                || parameterTypes[0].getInternalName().equals(parentInternalName)) {
+                            return TypeMirrorFactory.create(lookup, parseInternalName(parentInternalName),
+                                    ExecutableElementImpl.this, getAnnotationSource(),
+                                    new AnnotationTargetPath(TypeReference.newFormalParameterReference(0)),
+                                    parent.lookupModule());
+                        } else {
+                            return lookup.canonicalTypes.noType();
+                        }
+                    }
+                }, null);
             }
-        });
-
-        this.parameters = receiverType.map(receiver -> {
-            int paramShift;
-            if ("<init>".equals(method.name)) {
-                // we need to look out for the synthetic parameter of the instance inner class constructors that
-                // is being passed the "this" out their outer class.
-                // we try to avoid determining the nesting kind of the parent, because that requires the parent
-                // parsing.
-                paramShift = receiver.getKind() == TypeKind.NONE ? 0 : 1;
+        } else {
+            boolean hasAnnotatedReceiverParam = (method.visibleAnnotableParameterCount > 0
+                    && method.visibleTypeAnnotations != null
+                    && method.visibleAnnotableParameterCount < method.visibleTypeAnnotations.size())
+                    || (method.visibleAnnotableParameterCount > 0 && method.invisibleTypeAnnotations != null
+                            && method.visibleAnnotableParameterCount < method.invisibleTypeAnnotations.size());
+
+            if (hasAnnotatedReceiverParam) {
+                return TypeMirrorFactory.create(lookup, parseInternalName(parent.getInternalName()), this,
+                        getAnnotationSource(), new AnnotationTargetPath(TypeReference.newFormalParameterReference(0)),
+                        parent.lookupModule());
             } else {
-                paramShift = 0;
+                return TypeMirrorFactory.create(lookup, parent, emptyList(), emptyList());
             }
+        }
+    }
 
-            int size = signature.get().parameterTypes.size();
-            List<VariableElementImpl> ret = new ArrayList<>(size);
-            for (int i = paramShift; i < size; ++i) {
-                ret.add(new VariableElementImpl.Parameter(lookup, this, i));
-            }
-            return ret;
-        });
+    private int computeParameterShift() {
+        if ("<init>".equals(method.name)) {
+            // we need to look out for the synthetic parameter of the instance inner class constructors that
+            // is being passed the "this" out their outer class.
+            // we try to avoid determining the nesting kind of the parent, because that requires the parent
+            // parsing.
+            return getReceiverType().getKind() == TypeKind.NONE ? 0 : 1;
+        } else {
+            return 0;
+        }
+    }
 
-        this.elementKind = memoize(() -> {
-            if ("<init>".equals(method.name)) {
-                return ElementKind.CONSTRUCTOR;
-            } else if ("<clinit>".equals(method.name)) {
+    private List<VariableElementImpl> computeParameters() {
+        int paramShift = computeParameterShift();
+        int size = getSignature().parameterTypes.size();
+        List<VariableElementImpl> ret = new ArrayList<>(size);
+        for (int i = paramShift; i < size; ++i) {
+            ret.add(new VariableElementImpl.Parameter(lookup, this, i));
+        }
+        return ret;
+    }
+
+    private ElementKind computeElementKind() {
+        if ("<init>".equals(method.name)) {
+            return ElementKind.CONSTRUCTOR;
+        } else if ("<clinit>".equals(method.name)) {
+            return ElementKind.STATIC_INIT;
+        } else if (method.name == null || "".equals(method.name)) {
+            if ((method.access & Opcodes.ACC_STATIC) == Opcodes.ACC_STATIC) {
                 return ElementKind.STATIC_INIT;
-            } else if (method.name == null || "".equals(method.name)) {
-                if ((method.access & Opcodes.ACC_STATIC) == Opcodes.ACC_STATIC) {
-                    return ElementKind.STATIC_INIT;
-                } else {
-                    return ElementKind.INSTANCE_INIT;
-                }
             } else {
-                return ElementKind.METHOD;
-            }
-        });
-
-        this.modifiers = memoize(() -> Modifiers.toMethodModifiers(method.access));
-
-        this.typeParameterMap = signature.map(mp -> {
-            int i = 0;
-            LinkedHashMap<String, TypeParameterElementImpl> typeParams = new LinkedHashMap<>();
-            for (Map.Entry<String, TypeParameterBound> e : mp.typeParameters.entrySet()) {
-                typeParams.put(e.getKey(), new TypeParameterElementImpl(lookup, e.getKey(), this, e.getValue(), i++));
+                return ElementKind.INSTANCE_INIT;
             }
-            return typeParams;
-        });
-
-        this.typeParameters = typeParameterMap.map(m -> new ArrayList<>(m.values()));
-
-        this.thrownTypes = signature.map(sig -> {
-            int i = 0;
-            List<TypeMirrorImpl> ret = new ArrayList<>(sig.exceptionTypes.size());
+        } else {
+            return ElementKind.METHOD;
+        }
+    }
 
-            for (TypeSignature ex : sig.exceptionTypes) {
-                ret.add(TypeMirrorFactory.create(lookup, ex, this, obtained(annotationSource),
-                        new AnnotationTargetPath(TypeReference.newExceptionReference(i++)), parent.lookupModule()));
-            }
+    private Map<String, TypeParameterElementImpl> computeTypeParameterMap() {
+        int i = 0;
+        LinkedHashMap<String, TypeParameterElementImpl> typeParams = new LinkedHashMap<>();
+        for (Map.Entry<String, TypeParameterBound> e : getSignature().typeParameters.entrySet()) {
+            typeParams.put(e.getKey(), new TypeParameterElementImpl(lookup, e.getKey(), this, e.getValue(), i++));
+        }
+        return typeParams;
+    }
 
-            return ret;
-        });
+    private List<TypeMirrorImpl> computeThrownTypes() {
+        GenericMethodParameters sig = getSignature();
+        int i = 0;
+        List<TypeMirrorImpl> ret = new ArrayList<>(sig.exceptionTypes.size());
 
-        this.type = memoize(() -> new ExecutableTypeImpl(this));
+        for (TypeSignature ex : sig.exceptionTypes) {
+            ret.add(TypeMirrorFactory.create(lookup, ex, this, getAnnotationSource(),
+                    new AnnotationTargetPath(TypeReference.newExceptionReference(i++)), parent.lookupModule()));
+        }
 
-        this.defaultValue = method.annotationDefault == null ? null
-                : memoize(() -> fromAsmValue(lookup, method.annotationDefault, this, parent.lookupModule()));
+        return ret;
     }
 
     MethodNode getNode() {
         return method;
     }
 
-    MemoizedValue<GenericMethodParameters> getSignature() {
-        return signature;
+    GenericMethodParameters getSignature() {
+        return SIGNATURE.get(this, memo);
     }
 
     public TypeElementImpl getType() {
@@ -239,13 +246,13 @@ public final class ExecutableElementImpl extends ExecutableElementBase {
 
     @Override
     public Optional<TypeParameterElementImpl> resolveTypeVariable(String name) {
-        TypeParameterElementImpl typeParam = typeParameterMap.get().get(name);
+        TypeParameterElementImpl typeParam = TYPE_PARAMETER_MAP.get(this, memo).get(name);
         return typeParam == null ? parent.resolveTypeVariable(name) : Optional.of(typeParam);
     }
 
     @Override
     public MemoizedValue<AnnotationSource> asAnnotationSource() {
-        return obtained(AnnotationSource.fromMethod(method));
+        return getAnnotationSource();
     }
 
     @Override
@@ -260,22 +267,37 @@ public final class ExecutableElementImpl extends ExecutableElementBase {
 
     @Override
     public List<TypeParameterElementImpl> getTypeParameters() {
-        return typeParameters.get();
+        return TYPE_PARAMETERS.get(this, memo);
     }
 
     @Override
     public TypeMirrorImpl getReturnType() {
-        return returnType.get();
+        return RETURN_TYPE.get(this, memo);
     }
 
     @Override
     public List<VariableElementImpl> getParameters() {
-        return parameters.get();
+        return PARAMETERS.get(this, memo);
+    }
+
+    /**
+     * Finds the parameter with the given index in the method descriptor. Besides the parameters returned from
+     * {@link #getParameters()}, the descriptor can start with synthetic parameters, like the outer instance passed to
+     * the inner class constructors or the name and ordinal passed to the enum constructors.
+     *
+     * @return the parameter or null if the index points to a synthetic parameter
+     */
+    public @Nullable VariableElementImpl getParameterByDescriptorIndex(int index) {
+        // the generic signature doesn't contain the name and ordinal of the enum constructors
+        int signatureShift = Type.getArgumentTypes(method.desc).length - getSignature().parameterTypes.size();
+        int paramIndex = index - signatureShift - computeParameterShift();
+        List<VariableElementImpl> params = getParameters();
+        return paramIndex >= 0 && paramIndex < params.size() ? params.get(paramIndex) : null;
     }
 
     @Override
     public TypeMirrorImpl getReceiverType() {
-        return receiverType.get();
+        return RECEIVER_TYPE.get(this, memo);
     }
 
     @Override
@@ -291,27 +313,27 @@ public final class ExecutableElementImpl extends ExecutableElementBase {
 
     @Override
     public List<TypeMirrorImpl> getThrownTypes() {
-        return thrownTypes.get();
+        return THROWN_TYPES.get(this, memo);
     }
 
     @Override
     public AnnotationValueImpl getDefaultValue() {
-        return defaultValue == null ? null : defaultValue.get();
+        return DEFAULT_VALUE.get(this, memo);
     }
 
     @Override
     public TypeMirrorImpl asType() {
-        return type.get();
+        return TYPE.get(this, memo);
     }
 
     @Override
     public ElementKind getKind() {
-        return elementKind.get();
+        return ELEMENT_KIND.get(this, memo);
     }
 
     @Override
     public Set<Modifier> getModifiers() {
-        return modifiers.get();
+        return MODIFIERS.get(this, memo);
     }
 
     @Override
@@ -326,6 +348,6 @@ public final class ExecutableElementImpl extends ExecutableElementBase {
 
     @Override
     public List<VariableElementImpl> getEnclosedElements() {
-        return parameters.get();
+        return PARAMETERS.get(this, memo);
     }
 }
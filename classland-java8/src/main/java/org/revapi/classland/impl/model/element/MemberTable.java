@@ -0,0 +1,288 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.model.element;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * All the members of a type, i.e. the elements declared in the type together with the members it inherits from its
+ * supertypes. The table of a type is computed from the tables of its direct supertypes, so each type in the hierarchy
+ * is only ever walked once.
+ *
+ * Like in javac, the inherited methods that are overridden by a method already in the table are left out, while the
+ * hidden fields and static methods stay. The methods are matched by their names and erased parameter types, so a method
+ * doesn't override a method that only becomes override-equivalent after substituting the type arguments of the
+ * supertypes, unless there is a bridge method for it. The abstract methods of the interfaces are kept separately so
+ * that the functional interfaces can be checked with the substitution.
+ */
+public final class MemberTable {
+    private final List<ElementImpl> members;
+    // the keys are the signatures of the methods, see #signatureOf()
+    private final Map<String, List<ExecutableElementImpl>> methods;
+    private final Map<String, List<VariableElementImpl.Field>> fields;
+    private final List<ExecutableElementImpl> abstractMethods;
+
+    private MemberTable(List<ElementImpl> members, Map<String, List<ExecutableElementImpl>> methods,
+            Map<String, List<VariableElementImpl.Field>> fields, List<ExecutableElementImpl> abstractMethods) {
+        this.members = members;
+        this.methods = methods;
+        this.fields = fields;
+        this.abstractMethods = abstractMethods;
+    }
+
+    static MemberTable compute(TypeElementBase type) {
+        List<ElementImpl> members = new ArrayList<>(type.getEnclosedElements());
+        Set<ElementImpl> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<String, List<ExecutableElementImpl>> methods = new HashMap<>();
+        Map<String, List<VariableElementImpl.Field>> fields = new HashMap<>();
+
+        for (ElementImpl e : members) {
+            seen.add(e);
+            index(e, methods, fields);
+        }
+
+        TypeElementBase superclass = type.getSuperclassElement();
+        if (superclass != null) {
+            inherit(type, superclass, members, seen, methods, fields);
+        }
+
+        for (TypeElementBase iface : type.getInterfaceElements()) {
+            inherit(type, iface, members, seen, methods, fields);
+        }
+
+        List<ExecutableElementImpl> abstractMethods = type.getKind() == ElementKind.INTERFACE
+                ? abstractMethodsOf(type, members) : emptyList();
+
+        return new MemberTable(unmodifiableList(members), methods, fields, abstractMethods);
+    }
+
+    /**
+     * The table of a type that is its own supertype, see {@link SupertypeClosure#cyclic(TypeElementBase)}. Only the
+     * members declared in the type are included.
+     */
+    static MemberTable cyclic(TypeElementBase type) {
+        List<ElementImpl> members = new ArrayList<>(type.getEnclosedElements());
+        Map<String, List<ExecutableElementImpl>> methods = new HashMap<>();
+        Map<String, List<VariableElementImpl.Field>> fields = new HashMap<>();
+
+        for (ElementImpl e : members) {
+            index(e, methods, fields);
+        }
+
+        return new MemberTable(unmodifiableList(members), methods, fields, emptyList());
+    }
+
+    /**
+     * @return the signature of the method consisting of its name and its erased parameter types or null if the method
+     *         is missing
+     */
+    public static @Nullable String signatureOf(ExecutableElementBase method) {
+        if (!(method instanceof ExecutableElementImpl)) {
+            return null;
+        }
+
+        ExecutableElementImpl m = (ExecutableElementImpl) method;
+        String desc = m.getNode().desc;
+        return m.getNode().name + desc.substring(0, desc.indexOf(')') + 1);
+    }
+
+    /**
+     * @return the declared and inherited members of the type, not including the overridden methods
+     */
+    public List<ElementImpl> getAllMembers() {
+        return members;
+    }
+
+    /**
+     * @return the member methods with the provided signature (see {@link #signatureOf(ExecutableElementBase)})
+     */
+    public List<ExecutableElementImpl> getMethods(String signature) {
+        return methods.getOrDefault(signature, emptyList());
+    }
+
+    /**
+     * @return the member fields with the provided name
+     */
+    public List<VariableElementImpl.Field> getFields(String name) {
+        return fields.getOrDefault(name, emptyList());
+    }
+
+    /**
+     * Checks whether a field or a static method is hidden in the type of this table by a member declared in a subtype
+     * of the element's type.
+     */
+    public boolean isHidden(ElementImpl element) {
+        List<? extends ElementImpl> candidates;
+        if (element instanceof VariableElementImpl.Field) {
+            candidates = getFields(element.getSimpleName().asString());
+        } else if (element instanceof ExecutableElementImpl && element.getModifiers().contains(Modifier.STATIC)) {
+            String signature = signatureOf((ExecutableElementImpl) element);
+            candidates = signature == null ? emptyList() : getMethods(signature);
+        } else {
+            return false;
+        }
+
+        TypeElementBase owner = ownerOf(element);
+        for (ElementImpl c : candidates) {
+            if (c != element && isProperSubtype(ownerOf(c), owner)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The abstract methods of an interface, not counting the public methods of {@code java.lang.Object}. The interface
+     * is functional if one of them is a subsignature of all the others as members of the interface. If they all have
+     * the same signature (see {@link #signatureOf(ExecutableElementBase)}), that is trivially true, otherwise the type
+     * arguments of the supertypes need to be substituted.
+     *
+     * @return the abstract methods of the interface or an empty list if the type is not an interface
+     */
+    public List<ExecutableElementImpl> getAbstractMethods() {
+        return abstractMethods;
+    }
+
+    private static void inherit(TypeElementBase type, TypeElementBase supertype, List<ElementImpl> members,
+            Set<ElementImpl> seen, Map<String, List<ExecutableElementImpl>> methods,
+            Map<String, List<VariableElementImpl.Field>> fields) {
+        for (ElementImpl e : supertype.getMemberTable().members) {
+            if (!seen.add(e) || !isInheritedIn(e, type) || isOverridden(e, methods)) {
+                continue;
+            }
+
+            members.add(e);
+            index(e, methods, fields);
+        }
+    }
+
+    private static void index(ElementImpl e, Map<String, List<ExecutableElementImpl>> methods,
+            Map<String, List<VariableElementImpl.Field>> fields) {
+        if (e.getKind() == ElementKind.METHOD && e instanceof ExecutableElementImpl) {
+            String signature = signatureOf((ExecutableElementImpl) e);
+            methods.computeIfAbsent(signature, __ -> new ArrayList<>(1)).add((ExecutableElementImpl) e);
+        } else if (e instanceof VariableElementImpl.Field) {
+            fields.computeIfAbsent(e.getSimpleName().asString(), __ -> new ArrayList<>(1))
+                    .add((VariableElementImpl.Field) e);
+        }
+    }
+
+    private static boolean isInheritedIn(ElementImpl e, TypeElementBase type) {
+        switch (e.getKind()) {
+        case CONSTRUCTOR:
+        case STATIC_INIT:
+        case INSTANCE_INIT:
+            return false;
+        default:
+            break;
+        }
+
+        Set<Modifier> modifiers = e.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+
+        TypeElementBase owner = ownerOf(e);
+        if (e.getKind() == ElementKind.METHOD && modifiers.contains(Modifier.STATIC) && owner.getKind().isInterface()) {
+            // static interface methods are not inherited
+            return false;
+        }
+
+        return modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.PROTECTED)
+                || owner.getPackage().get() == type.getPackage().get();
+    }
+
+    private static boolean isOverridden(ElementImpl e, Map<String, List<ExecutableElementImpl>> methods) {
+        if (e.getKind() != ElementKind.METHOD || !(e instanceof ExecutableElementImpl)) {
+            return false;
+        }
+
+        Set<Modifier> modifiers = e.getModifiers();
+        if (modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+
+        List<ExecutableElementImpl> candidates = methods.get(signatureOf((ExecutableElementImpl) e));
+        if (candidates == null) {
+            return false;
+        }
+
+        TypeElementBase owner = ownerOf(e);
+        boolean packagePrivate = !modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.PROTECTED);
+        for (ExecutableElementImpl m : candidates) {
+            TypeElementBase mOwner = ownerOf(m);
+            if (!m.getModifiers().contains(Modifier.STATIC) && isProperSubtype(mOwner, owner)
+                    && (!packagePrivate || mOwner.getPackage().get() == owner.getPackage().get())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static List<ExecutableElementImpl> abstractMethodsOf(TypeElementBase type, List<ElementImpl> members) {
+        MemberTable objectMembers = type.getLookup().getJavaLangObject().getMemberTable();
+        List<ExecutableElementImpl> ret = new ArrayList<>(1);
+        for (ElementImpl e : members) {
+            if (e.getKind() != ElementKind.METHOD || !e.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+
+            String signature = signatureOf((ExecutableElementBase) e);
+            if (signature == null || isPublicObjectMethod(signature, objectMembers)) {
+                continue;
+            }
+
+            ret.add((ExecutableElementImpl) e);
+        }
+
+        return ret.isEmpty() ? emptyList() : unmodifiableList(ret);
+    }
+
+    private static boolean isPublicObjectMethod(String signature, MemberTable objectMembers) {
+        for (ExecutableElementImpl m : objectMembers.getMethods(signature)) {
+            if (m.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static TypeElementBase ownerOf(ElementImpl member) {
+        return (TypeElementBase) member.getEnclosingElement();
+    }
+
+    private static boolean isProperSubtype(TypeElementBase type, TypeElementBase supertype) {
+        return type != supertype && type.getSupertypeClosure().hasSupertype(supertype);
+    }
+}
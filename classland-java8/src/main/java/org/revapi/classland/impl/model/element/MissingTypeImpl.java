@@ -18,8 +18,6 @@ package org.revapi.classland.impl.model.element;
 
 import static java.util.Collections.emptyList;
 
-import static org.revapi.classland.impl.util.MemoizedValue.obtained;
-
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,7 +27,6 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ElementVisitor;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.NestingKind;
-import javax.lang.model.type.TypeKind;
 
 import org.revapi.classland.impl.TypeLookup;
 import org.revapi.classland.impl.model.NameImpl;
@@ -37,7 +34,6 @@ import org.revapi.classland.impl.model.anno.AnnotationSource;
 import org.revapi.classland.impl.model.mirror.AnnotationMirrorImpl;
 import org.revapi.classland.impl.model.mirror.DeclaredTypeImpl;
 import org.revapi.classland.impl.model.mirror.ErrorTypeImpl;
-import org.revapi.classland.impl.model.mirror.NoTypeImpl;
 import org.revapi.classland.impl.model.mirror.TypeMirrorImpl;
 import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Nullable;
@@ -47,6 +43,9 @@ public class MissingTypeImpl extends TypeElementBase {
     private final ErrorTypeImpl type;
     private final NameImpl qualifiedName;
     private final NameImpl simpleName;
+    private final MemoizedValue<SupertypeClosure> supertypes = MemoizedValue
+            .memoize(() -> SupertypeClosure.compute(this));
+    private final MemoizedValue<MemberTable> members = MemoizedValue.memoize(() -> MemberTable.compute(this));
 
     public MissingTypeImpl(TypeLookup lookup, String internalName, @Nullable ModuleElementImpl module) {
         super(lookup, null, internalName, MemoizedValue.memoize(() -> {
@@ -65,6 +64,26 @@ public class MissingTypeImpl extends TypeElementBase {
         return type;
     }
 
+    @Override
+    public @Nullable TypeElementBase getSuperclassElement() {
+        return null;
+    }
+
+    @Override
+    public List<TypeElementBase> getInterfaceElements() {
+        return emptyList();
+    }
+
+    @Override
+    public SupertypeClosure getSupertypeClosure() {
+        return supertypes.get();
+    }
+
+    @Override
+    public MemberTable getMemberTable() {
+        return members.get();
+    }
+
     @Override
     public @Nullable ExecutableElementImpl getMethod(String methodName, String methodDescriptor) {
         return null;
@@ -97,7 +116,7 @@ public class MissingTypeImpl extends TypeElementBase {
 
     @Override
     public TypeMirrorImpl getSuperclass() {
-        return new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE);
+        return lookup.canonicalTypes.noType();
     }
 
     @Override
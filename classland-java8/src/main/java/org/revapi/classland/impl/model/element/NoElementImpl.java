@@ -27,14 +27,12 @@ import java.util.Set;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ElementVisitor;
 import javax.lang.model.element.Modifier;
-import javax.lang.model.type.TypeKind;
 
 import org.revapi.classland.impl.TypeLookup;
 import org.revapi.classland.impl.model.NameImpl;
 import org.revapi.classland.impl.model.anno.AnnotationSource;
 import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
 import org.revapi.classland.impl.model.mirror.AnnotationMirrorImpl;
-import org.revapi.classland.impl.model.mirror.NoTypeImpl;
 import org.revapi.classland.impl.model.mirror.TypeMirrorImpl;
 
 public class NoElementImpl extends ElementImpl {
@@ -44,7 +42,7 @@ public class NoElementImpl extends ElementImpl {
 
     @Override
     public TypeMirrorImpl asType() {
-        return new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE);
+        return lookup.canonicalTypes.noType();
     }
 
     @Override
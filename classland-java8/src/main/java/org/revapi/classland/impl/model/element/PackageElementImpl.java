@@ -21,12 +21,13 @@ import static java.util.Collections.emptySet;
 import static org.revapi.classland.impl.util.MemoizedValue.memoize;
 import static org.revapi.classland.impl.util.MemoizedValue.obtained;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -54,6 +55,7 @@ public final class PackageElementImpl extends ElementImpl implements PackageElem
 
     private final Map<String, TypeElementImpl> mutableTypes = new ConcurrentHashMap<>();
     private final List<Supplier<Collection<TypeElementImpl>>> typeGatherers;
+    private final List<Function<String, @Nullable TypeElementImpl>> typeResolvers;
 
     public PackageElementImpl(TypeLookup lookup, String name, MemoizedValue<@Nullable ClassNode> node,
             @Nullable ModuleElementImpl module) {
@@ -62,8 +64,11 @@ public final class PackageElementImpl extends ElementImpl implements PackageElem
         this.name = NameImpl.of(name);
         this.module = module;
         this.type = new NoTypeImpl(lookup, this.annos, TypeKind.PACKAGE);
-        this.typeGatherers = new ArrayList<>();
-        this.types = memoize(() -> typeGatherers.stream().map(Supplier::get).flatMap(Collection::stream)
+        this.typeGatherers = new CopyOnWriteArrayList<>();
+        this.typeResolvers = new CopyOnWriteArrayList<>();
+        // the gatherers are expected to return the instances registered in the mutable types, so there might be
+        // duplicates if the same class is present in several archives
+        this.types = memoize(() -> typeGatherers.stream().map(Supplier::get).flatMap(Collection::stream).distinct()
                 .collect(Collectors.toList()));
     }
 
@@ -75,6 +80,40 @@ public final class PackageElementImpl extends ElementImpl implements PackageElem
         this.typeGatherers.add(gatherer);
     }
 
+    /**
+     * Adds a function that can find a single type in this package by its internal name without the need to gather all
+     * the types of the package. The resolvers are expected to return the instances registered in the
+     * {@link #getMutableTypes() mutable types} so that the identity of the types is preserved regardless of how they
+     * were obtained.
+     */
+    public void addTypeResolver(Function<String, @Nullable TypeElementImpl> resolver) {
+        this.typeResolvers.add(resolver);
+    }
+
+    /**
+     * Finds the type with the provided internal name in this package without instantiating any other type.
+     *
+     * @param internalName
+     *            the internal name of the type
+     * 
+     * @return the type or null if there is no such type in this package
+     */
+    public @Nullable TypeElementImpl getType(String internalName) {
+        TypeElementImpl ret = mutableTypes.get(internalName);
+        if (ret != null) {
+            return ret;
+        }
+
+        for (Function<String, @Nullable TypeElementImpl> resolver : typeResolvers) {
+            ret = resolver.apply(internalName);
+            if (ret != null) {
+                return ret;
+            }
+        }
+
+        return null;
+    }
+
     public MemoizedValue<List<TypeElementImpl>> computeTypes() {
         return types;
     }
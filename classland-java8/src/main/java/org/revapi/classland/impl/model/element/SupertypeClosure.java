@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.model.element;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * All the supertypes of a type, computed from the super class and interface names in the class files. The supertypes
+ * are identified by the {@link TypeElementBase#getTypeId() ids} of the types, so checking whether a type is a supertype
+ * doesn't need to walk the type hierarchy. The closure of a type is computed from the closures of its direct
+ * supertypes, so each type in the hierarchy is only ever walked once.
+ */
+public final class SupertypeClosure {
+    // sorted ids of the type itself and all its super classes
+    private final int[] superclassIds;
+    // sorted ids of the type itself and all its supertypes
+    private final int[] supertypeIds;
+    private final List<TypeElementBase> supertypes;
+
+    private SupertypeClosure(int[] superclassIds, int[] supertypeIds, List<TypeElementBase> supertypes) {
+        this.superclassIds = superclassIds;
+        this.supertypeIds = supertypeIds;
+        this.supertypes = supertypes;
+    }
+
+    static SupertypeClosure compute(TypeElementBase type) {
+        Set<TypeElementBase> supertypes = new LinkedHashSet<>();
+
+        int[] superclassIds;
+        TypeElementBase superclass = type.getSuperclassElement();
+        if (superclass == null) {
+            superclassIds = new int[] { type.getTypeId() };
+        } else {
+            SupertypeClosure superClosure = superclass.getSupertypeClosure();
+            superclassIds = with(superClosure.superclassIds, type.getTypeId());
+            supertypes.add(superclass);
+            supertypes.addAll(superClosure.supertypes);
+        }
+
+        for (TypeElementBase iface : type.getInterfaceElements()) {
+            supertypes.add(iface);
+            supertypes.addAll(iface.getSupertypeClosure().supertypes);
+        }
+
+        if (type instanceof MissingTypeImpl) {
+            supertypes.add(type.getLookup().getJavaLangObject());
+        }
+
+        int[] supertypeIds = new int[supertypes.size() + 1];
+        int i = 0;
+        for (TypeElementBase t : supertypes) {
+            supertypeIds[i++] = t.getTypeId();
+        }
+        supertypeIds[i] = type.getTypeId();
+        Arrays.sort(supertypeIds);
+
+        return new SupertypeClosure(superclassIds, supertypeIds, unmodifiableList(new ArrayList<>(supertypes)));
+    }
+
+    /**
+     * The closure of a type that is its own supertype. Such hierarchies can only come from inconsistent class files,
+     * e.g. from different versions of a library. The supertypes of the type are cut off where the cycle is detected.
+     */
+    static SupertypeClosure cyclic(TypeElementBase type) {
+        int[] ids = new int[] { type.getTypeId() };
+        return new SupertypeClosure(ids, ids, emptyList());
+    }
+
+    /**
+     * @return true if the provided type is the type itself or one of its super classes
+     */
+    public boolean hasSuperclass(@Nullable TypeElementBase type) {
+        return type != null && Arrays.binarySearch(superclassIds, type.getTypeId()) >= 0;
+    }
+
+    /**
+     * @return true if the provided type is the type itself or one of its super classes or super interfaces
+     */
+    public boolean hasSupertype(@Nullable TypeElementBase type) {
+        return type != null && Arrays.binarySearch(supertypeIds, type.getTypeId()) >= 0;
+    }
+
+    /**
+     * @return all the super classes and super interfaces of the type, not including the type itself
+     */
+    public List<TypeElementBase> getSupertypes() {
+        return supertypes;
+    }
+
+    private static int[] with(int[] sortedIds, int id) {
+        int[] ret = Arrays.copyOf(sortedIds, sortedIds.length + 1);
+        ret[sortedIds.length] = id;
+        Arrays.sort(ret);
+        return ret;
+    }
+}
@@ -39,6 +39,7 @@ public abstract class TypeElementBase extends ElementImpl implements TypeElement
     protected final String internalName;
     protected final MemoizedValue<PackageElementImpl> pkg;
     protected final MemoizedValue<ModuleElementImpl> module;
+    private final int typeId;
 
     protected TypeElementBase(TypeLookup lookup, @Nullable Archive archive, String internalName,
             MemoizedValue<@Nullable PackageElementImpl> pkg, MemoizedValue<AnnotationSource> annos) {
@@ -47,6 +48,7 @@ public abstract class TypeElementBase extends ElementImpl implements TypeElement
         this.internalName = internalName;
         this.pkg = pkg;
         this.module = pkg.map(p -> p == null ? null : p.getModule());
+        this.typeId = lookup.newTypeId();
     }
 
     public @Nullable Archive getArchive() {
@@ -57,6 +59,41 @@ public abstract class TypeElementBase extends ElementImpl implements TypeElement
         return internalName;
     }
 
+    /**
+     * @return the id of the type, unique within the type universe. The ids are dense, i.e. assigned sequentially as the
+     *         types are instantiated.
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+
+    /**
+     * @return the closure of all the supertypes of this type
+     */
+    public abstract SupertypeClosure getSupertypeClosure();
+
+    /**
+     * @return the table of all the members of this type, including the inherited ones
+     */
+    public abstract MemberTable getMemberTable();
+
+    /**
+     * Similar to {@link #getSuperclass()} but only using the information from the class header, i.e. without the need
+     * to parse the generic signature.
+     *
+     * @return the element of the super class or null if the type has no super class (e.g. for java.lang.Object or
+     *         interfaces)
+     */
+    public abstract @Nullable TypeElementBase getSuperclassElement();
+
+    /**
+     * Similar to {@link #getInterfaces()} but only using the information from the class header, i.e. without the need
+     * to parse the generic signature.
+     *
+     * @return the elements of the directly implemented interfaces
+     */
+    public abstract List<TypeElementBase> getInterfaceElements();
+
     public MemoizedValue<PackageElementImpl> getPackage() {
         return pkg;
     }
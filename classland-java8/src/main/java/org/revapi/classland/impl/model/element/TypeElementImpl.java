@@ -23,9 +23,7 @@ import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Stream.concat;
 
 import static org.revapi.classland.impl.util.Asm.hasFlag;
-import static org.revapi.classland.impl.util.MemoizedValue.memoize;
 import static org.revapi.classland.impl.util.MemoizedValue.obtained;
-import static org.revapi.classland.impl.util.MemoizedValue.obtainedEmptyList;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -34,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,7 +40,6 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ElementVisitor;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.NestingKind;
-import javax.lang.model.type.TypeKind;
 
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.TypeReference;
@@ -53,225 +51,248 @@ import org.revapi.classland.impl.model.NameImpl;
 import org.revapi.classland.impl.model.anno.AnnotationSource;
 import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
 import org.revapi.classland.impl.model.mirror.DeclaredTypeImpl;
-import org.revapi.classland.impl.model.mirror.NoTypeImpl;
 import org.revapi.classland.impl.model.mirror.TypeMirrorFactory;
 import org.revapi.classland.impl.model.mirror.TypeMirrorImpl;
 import org.revapi.classland.impl.model.signature.*;
+import org.revapi.classland.impl.util.MemoizedSlots;
+import org.revapi.classland.impl.util.MemoizedSlots.Slot;
 import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Modifiers;
 import org.revapi.classland.impl.util.Nullable;
 
 public final class TypeElementImpl extends TypeElementBase {
+    private static final MemoizedSlots<TypeElementImpl> SLOTS = new MemoizedSlots<>();
+    private static final Slot<TypeElementImpl, ScanningResult> SCAN = SLOTS.slot(TypeElementImpl::scan);
+    private static final Slot<TypeElementImpl, NameImpl> SIMPLE_NAME = SLOTS.slot(TypeElementImpl::computeSimpleName);
+    private static final Slot<TypeElementImpl, NameImpl> QUALIFIED_NAME = SLOTS
+            .slot(TypeElementImpl::computeQualifiedName);
+    private static final Slot<TypeElementImpl, ElementKind> ELEMENT_KIND = SLOTS
+            .slot(t -> Modifiers.toTypeElementKind(t.node.get().access));
+    private static final Slot<TypeElementImpl, Set<Modifier>> MODIFIERS = SLOTS
+            .slot(t -> Modifiers.toTypeModifiers(t.scanned().effectiveAccess));
+    private static final Slot<TypeElementImpl, ElementImpl> ENCLOSING_ELEMENT = SLOTS
+            .slot(TypeElementImpl::computeEnclosingElement);
+    private static final Slot<TypeElementImpl, GenericTypeParameters> SIGNATURE = SLOTS
+            .slot(TypeElementImpl::computeSignature);
+    private static final Slot<TypeElementImpl, DeclaredTypeImpl> TYPE = SLOTS
+            .slot(t -> TypeMirrorFactory.create(t.lookup, t));
+    private static final Slot<TypeElementImpl, TypeMirrorImpl> SUPER_CLASS = SLOTS
+            .slot(TypeElementImpl::computeSuperClass);
+    private static final Slot<TypeElementImpl, List<TypeMirrorImpl>> INTERFACES = SLOTS
+            .slot(TypeElementImpl::computeInterfaces);
+    private static final Slot<TypeElementImpl, Map<String, TypeParameterElementImpl>> TYPE_PARAMETERS_MAP = SLOTS
+            .onceSlot(TypeElementImpl::computeTypeParametersMap);
+    private static final Slot<TypeElementImpl, List<TypeParameterElementImpl>> TYPE_PARAMETERS = SLOTS
+            .slot(t -> new ArrayList<>(TYPE_PARAMETERS_MAP.get(t, t.memo).values()));
+    private static final Slot<TypeElementImpl, Map<String, ExecutableElementImpl>> METHODS = SLOTS
+            .onceSlot(t -> t.node.get().methods.stream().filter(m -> !Modifiers.isSynthetic(m.access))
+                    .collect(toMap(m -> m.name + "#" + m.desc, m -> new ExecutableElementImpl(t.lookup, t, m))));
+    private static final Slot<TypeElementImpl, Map<String, VariableElementImpl.Field>> FIELDS = SLOTS
+            .onceSlot(t -> t.node.get().fields.stream().filter(f -> !Modifiers.isSynthetic(f.access))
+                    .map(f -> new VariableElementImpl.Field(t.lookup, t, f))
+                    .collect(Collectors.toMap(v -> v.getSimpleName().asString(), identity())));
+    private static final Slot<TypeElementImpl, List<ElementImpl>> ENCLOSED_ELEMENTS = SLOTS
+            .slot(TypeElementImpl::computeEnclosedElements);
+    // the class files can form cyclic hierarchies, see SupertypeClosure#cyclic()
+    private static final Slot<TypeElementImpl, SupertypeClosure> SUPERTYPES = SLOTS.slot(SupertypeClosure::compute,
+            SupertypeClosure::cyclic);
+    private static final Slot<TypeElementImpl, MemberTable> MEMBERS = SLOTS.slot(MemberTable::compute,
+            MemberTable::cyclic);
+
     private final MemoizedValue<ClassNode> node;
-    private final MemoizedValue<NameImpl> qualifiedName;
-    private final MemoizedValue<NameImpl> simpleName;
-    private final MemoizedValue<ScanningResult> scan;
-    private final MemoizedValue<ElementImpl> enclosingElement;
-    private final MemoizedValue<NestingKind> nestingKind;
-    private final MemoizedValue<TypeMirrorImpl> superClass;
-    private final MemoizedValue<List<TypeMirrorImpl>> interfaces;
-    private final MemoizedValue<ElementKind> elementKind;
-    private final MemoizedValue<Set<Modifier>> modifiers;
-    private final MemoizedValue<List<ElementImpl>> enclosedElements;
-    private final MemoizedValue<Map<String, TypeParameterElementImpl>> typeParametersMap;
-    private final MemoizedValue<DeclaredTypeImpl> type;
-    private final MemoizedValue<List<TypeParameterElementImpl>> typeParameters;
-    private final MemoizedValue<Map<String, ExecutableElementImpl>> methods;
-    private final MemoizedValue<Map<String, VariableElementImpl.Field>> fields;
-    private final MemoizedValue<GenericTypeParameters> signature;
+    private final PackageElementImpl parentPackage;
+    private final AtomicReferenceArray<Object> memo = SLOTS.newValues();
 
     public TypeElementImpl(TypeLookup lookup, @Nullable Archive archive, String internalName,
             MemoizedValue<ClassNode> node, PackageElementImpl pkg) {
         super(lookup, archive, internalName, obtained(pkg), node.map(AnnotationSource::fromType));
         this.node = node;
+        this.parentPackage = pkg;
+    }
 
-        this.scan = node.map(cls -> {
-            ScanningResult ret = new ScanningResult();
-            ret.classNode = cls;
-            ret.nestingKind = NestingKind.TOP_LEVEL;
-            ret.effectiveAccess = cls.access;
+    private ScanningResult scanned() {
+        return SCAN.get(this, memo);
+    }
 
-            ret.outerClass = cls.outerClass;
+    private ScanningResult scan() {
+        ClassNode cls = node.get();
+        ScanningResult ret = new ScanningResult();
+        ret.classNode = cls;
+        ret.nestingKind = NestingKind.TOP_LEVEL;
+        ret.effectiveAccess = cls.access;
 
-            if (cls.innerClasses.isEmpty()) {
-                ret.simpleName = cls.name.replace('/', '.');
-            } else {
-                int classNameLength = cls.name.length();
-                ret.qualifiedNameParts = new HashMap<>(cls.innerClasses.size(), 1);
-                ret.innerClasses = new ArrayList<>();
-                for (InnerClassNode icn : cls.innerClasses) {
-                    // The list of the inner classes recorded on a type seems to contain all the containing classes +
-                    // all the directly contained classes + the type itself. Therefore, we can rely simply on the length
-                    // of the name to distinguish between them.
-                    // Note that the list of inner classes also contains inner classes that are not defined in this
-                    // class (possibly they are just used in the class code), so we need to guard for that, too.
-                    if (icn.name.length() <= classNameLength && cls.name.startsWith(icn.name)) {
-                        ret.qualifiedNameParts.put(icn.name, icn);
-
-                        if (icn.name.length() == classNameLength) {
-                            if (icn.innerName == null) {
-                                ret.nestingKind = NestingKind.ANONYMOUS;
-                                ret.outerClass = icn.name.substring(0, icn.name.lastIndexOf('$'));
-                            } else if (icn.outerName == null) {
-                                ret.nestingKind = NestingKind.LOCAL;
-                            } else {
-                                ret.nestingKind = NestingKind.MEMBER;
-                                ret.outerClass = icn.outerName;
-                            }
-                            ret.simpleName = icn.innerName == null ? "" : icn.innerName;
-                            ret.effectiveAccess = icn.access;
-                        }
-                    } else if (cls.name.equals(icn.outerName)) {
-                        if (!Modifiers.isSynthetic(icn.access)) {
-                            ret.innerClasses.add(icn.name);
+        ret.outerClass = cls.outerClass;
+
+        if (cls.innerClasses.isEmpty()) {
+            ret.simpleName = cls.name.replace('/', '.');
+        } else {
+            int classNameLength = cls.name.length();
+            ret.qualifiedNameParts = new HashMap<>(cls.innerClasses.size(), 1);
+            ret.innerClasses = new ArrayList<>();
+            for (InnerClassNode icn : cls.innerClasses) {
+                // The list of the inner classes recorded on a type seems to contain all the containing classes +
+                // all the directly contained classes + the type itself. Therefore, we can rely simply on the length
+                // of the name to distinguish between them.
+                // Note that the list of inner classes also contains inner classes that are not defined in this
+                // class (possibly they are just used in the class code), so we need to guard for that, too.
+                if (icn.name.length() <= classNameLength && cls.name.startsWith(icn.name)) {
+                    ret.qualifiedNameParts.put(icn.name, icn);
+
+                    if (icn.name.length() == classNameLength) {
+                        if (icn.innerName == null) {
+                            ret.nestingKind = NestingKind.ANONYMOUS;
+                            ret.outerClass = icn.name.substring(0, icn.name.lastIndexOf('$'));
+                        } else if (icn.outerName == null) {
+                            ret.nestingKind = NestingKind.LOCAL;
+                        } else {
+                            ret.nestingKind = NestingKind.MEMBER;
+                            ret.outerClass = icn.outerName;
                         }
+                        ret.simpleName = icn.innerName == null ? "" : icn.innerName;
+                        ret.effectiveAccess = icn.access;
+                    }
+                } else if (cls.name.equals(icn.outerName)) {
+                    if (!Modifiers.isSynthetic(icn.access)) {
+                        ret.innerClasses.add(icn.name);
                     }
-                }
-
-                if (ret.simpleName == null) {
-                    // we're parsing a top-level class with inner classes
-                    ret.simpleName = cls.name.replace('/', '.');
                 }
             }
 
-            return ret;
-        });
-
-        nestingKind = scan.map(r -> r.nestingKind);
-
-        simpleName = scan.map(r -> {
-            if (r.nestingKind == NestingKind.TOP_LEVEL) {
-                return NameImpl.of(r.simpleName.substring(r.simpleName.lastIndexOf('.') + 1));
-            }
-            return NameImpl.of(r.simpleName);
-        });
-
-        qualifiedName = scan.map(r -> {
-            if (r.nestingKind == NestingKind.TOP_LEVEL) {
-                return NameImpl.of(r.simpleName);
+            if (ret.simpleName == null) {
+                // we're parsing a top-level class with inner classes
+                ret.simpleName = cls.name.replace('/', '.');
             }
+        }
 
-            if (r.nestingKind == NestingKind.LOCAL || r.nestingKind == NestingKind.ANONYMOUS) {
-                return NameImpl.EMPTY;
-            }
+        return ret;
+    }
 
-            String name = r.classNode.name;
-            InnerClassNode icn = r.qualifiedNameParts.get(name);
-            List<String> parts = new ArrayList<>(r.qualifiedNameParts.size());
-            while (icn != null) {
-                parts.add(0, icn.innerName);
-                InnerClassNode next = r.qualifiedNameParts.get(icn.outerName);
-                if (next == null) {
-                    String outerClass = icn.outerName;
-                    if (outerClass == null) {
-                        // we're embedded in an anonymous class, let's bail...
-                        return NameImpl.EMPTY;
-                    } else {
-                        parts.add(0, outerClass.replace('/', '.'));
-                    }
-                    break;
-                } else {
-                    icn = next;
-                }
-            }
+    private NameImpl computeSimpleName() {
+        ScanningResult r = scanned();
+        if (r.nestingKind == NestingKind.TOP_LEVEL) {
+            return NameImpl.of(r.simpleName.substring(r.simpleName.lastIndexOf('.') + 1));
+        }
+        return NameImpl.of(r.simpleName);
+    }
 
-            return NameImpl.of(String.join(".", parts));
-        });
+    private NameImpl computeQualifiedName() {
+        ScanningResult r = scanned();
+        if (r.nestingKind == NestingKind.TOP_LEVEL) {
+            return NameImpl.of(r.simpleName);
+        }
 
-        elementKind = node.map(n -> Modifiers.toTypeElementKind(n.access));
-        modifiers = scan.map(r -> Modifiers.toTypeModifiers(r.effectiveAccess));
+        if (r.nestingKind == NestingKind.LOCAL || r.nestingKind == NestingKind.ANONYMOUS) {
+            return NameImpl.EMPTY;
+        }
 
-        enclosingElement = scan.map(r -> {
-            switch (r.nestingKind) {
-            case TOP_LEVEL:
-                return pkg;
-            case MEMBER:
-            case ANONYMOUS:
-                if (r.classNode.outerMethod == null) {
-                    return lookup.getTypeByInternalNameFromPackage(r.outerClass, pkg);
+        String name = r.classNode.name;
+        InnerClassNode icn = r.qualifiedNameParts.get(name);
+        List<String> parts = new ArrayList<>(r.qualifiedNameParts.size());
+        while (icn != null) {
+            parts.add(0, icn.innerName);
+            InnerClassNode next = r.qualifiedNameParts.get(icn.outerName);
+            if (next == null) {
+                String outerClass = icn.outerName;
+                if (outerClass == null) {
+                    // we're embedded in an anonymous class, let's bail...
+                    return NameImpl.EMPTY;
                 } else {
-                    return lookup.getTypeByInternalNameFromPackage(r.classNode.outerClass, pkg)
-                            .getMethod(r.classNode.outerMethod, r.classNode.outerMethodDesc);
+                    parts.add(0, outerClass.replace('/', '.'));
                 }
-            case LOCAL:
-                return lookup.getTypeByInternalNameFromPackage(r.classNode.outerClass, pkg)
-                        .getMethod(r.classNode.outerMethod, r.classNode.outerMethodDesc);
-            default:
-                throw new IllegalStateException("Unhandled nesting kind, " + r.nestingKind
-                        + ", while determining the enclosing element of class " + internalName);
+                break;
+            } else {
+                icn = next;
             }
+        }
 
-        });
-
-        signature = scan.map(s -> {
-            TypeElementBase outerClass = s.outerClass == null ? null
-                    : lookup.getTypeByInternalNameFromPackage(s.outerClass, pkg);
-
-            ClassNode n = s.classNode;
-
-            if (n.signature == null) {
-                boolean noSuperClass = n.superName == null || elementKind.get() == ElementKind.INTERFACE
-                        || elementKind.get() == ElementKind.ANNOTATION_TYPE;
+        return NameImpl.of(String.join(".", parts));
+    }
 
-                return new GenericTypeParameters(new LinkedHashMap<>(0, 0.01f),
-                        noSuperClass ? null : new TypeSignature.Reference(0, n.superName, emptyList(), null),
-                        n.interfaces.stream().map(i -> new TypeSignature.Reference(0, i, emptyList(), null))
-                                .collect(toList()),
-                        outerClass);
+    private ElementImpl computeEnclosingElement() {
+        ScanningResult r = scanned();
+        switch (r.nestingKind) {
+        case TOP_LEVEL:
+            return parentPackage;
+        case MEMBER:
+        case ANONYMOUS:
+            if (r.classNode.outerMethod == null) {
+                return lookup.getTypeByInternalNameFromPackage(r.outerClass, parentPackage);
             } else {
-                return SignatureParser.parseType(n.signature, outerClass);
+                return lookup.getTypeByInternalNameFromPackage(r.classNode.outerClass, parentPackage)
+                        .getMethod(r.classNode.outerMethod, r.classNode.outerMethodDesc);
             }
-        });
+        case LOCAL:
+            return lookup.getTypeByInternalNameFromPackage(r.classNode.outerClass, parentPackage)
+                    .getMethod(r.classNode.outerMethod, r.classNode.outerMethodDesc);
+        default:
+            throw new IllegalStateException("Unhandled nesting kind, " + r.nestingKind
+                    + ", while determining the enclosing element of class " + internalName);
+        }
+    }
 
-        type = memoize(() -> TypeMirrorFactory.create(lookup, this));
+    private GenericTypeParameters computeSignature() {
+        ScanningResult s = scanned();
+        TypeElementBase outerClass = s.outerClass == null ? null
+                : lookup.getTypeByInternalNameFromPackage(s.outerClass, parentPackage);
 
-        superClass = signature.map(ts -> {
-            if (ts.superClass == null) {
-                // java.lang.Object or interfaces
-                return new NoTypeImpl(lookup, obtainedEmptyList(), TypeKind.NONE);
-            } else {
-                return TypeMirrorFactory.create(lookup, ts.superClass, this, asAnnotationSource(),
-                        new AnnotationTargetPath(TypeReference.newSuperTypeReference(-1)), obtained(pkg.getModule()));
-            }
-        });
+        ClassNode n = s.classNode;
 
-        interfaces = signature.map(ts -> {
-            List<TypeMirrorImpl> ret = new ArrayList<>(ts.interfaces.size());
+        if (n.signature == null) {
+            ElementKind kind = getKind();
+            boolean noSuperClass = n.superName == null || kind == ElementKind.INTERFACE
+                    || kind == ElementKind.ANNOTATION_TYPE;
 
-            int i = 0;
-            for (TypeSignature iface : ts.interfaces) {
-                ret.add(TypeMirrorFactory.create(lookup, iface, this, asAnnotationSource(),
-                        new AnnotationTargetPath(TypeReference.newSuperTypeReference(i++)), obtained(pkg.getModule())));
-            }
+            return new GenericTypeParameters(new LinkedHashMap<>(0, 0.01f),
+                    noSuperClass ? null : new TypeSignature.Reference(0, n.superName, emptyList(), null), n.interfaces
+                            .stream().map(i -> new TypeSignature.Reference(0, i, emptyList(), null)).collect(toList()),
+                    outerClass);
+        } else {
+            return SignatureParser.parseType(n.signature, outerClass);
+        }
+    }
 
-            return ret;
-        });
+    private TypeMirrorImpl computeSuperClass() {
+        GenericTypeParameters ts = getSignature();
+        if (ts.superClass == null) {
+            // java.lang.Object or interfaces
+            return lookup.canonicalTypes.noType();
+        } else {
+            return TypeMirrorFactory.create(lookup, ts.superClass, this, asAnnotationSource(),
+                    new AnnotationTargetPath(TypeReference.newSuperTypeReference(-1)),
+                    obtained(parentPackage.getModule()));
+        }
+    }
 
-        typeParametersMap = signature.map(ts -> {
-            int i = 0;
-            LinkedHashMap<String, TypeParameterElementImpl> typeParams = new LinkedHashMap<>();
-            for (Map.Entry<String, TypeParameterBound> e : ts.typeParameters.entrySet()) {
-                typeParams.put(e.getKey(), new TypeParameterElementImpl(lookup, e.getKey(), this, e.getValue(), i++));
-            }
-            return typeParams;
-        });
+    private List<TypeMirrorImpl> computeInterfaces() {
+        GenericTypeParameters ts = getSignature();
+        List<TypeMirrorImpl> ret = new ArrayList<>(ts.interfaces.size());
 
-        typeParameters = typeParametersMap.map(m -> new ArrayList<>(m.values()));
+        int i = 0;
+        for (TypeSignature iface : ts.interfaces) {
+            ret.add(TypeMirrorFactory.create(lookup, iface, this, asAnnotationSource(),
+                    new AnnotationTargetPath(TypeReference.newSuperTypeReference(i++)),
+                    obtained(parentPackage.getModule())));
+        }
 
-        methods = node.map(n -> n.methods.stream().filter(m -> !Modifiers.isSynthetic(m.access))
-                .collect(toMap(m -> m.name + "#" + m.desc, m -> new ExecutableElementImpl(lookup, this, m))));
+        return ret;
+    }
 
-        fields = node.map(n -> n.fields.stream().filter(f -> !Modifiers.isSynthetic(f.access))
-                .map(f -> new VariableElementImpl.Field(lookup, this, f))
-                .collect(Collectors.toMap(v -> v.getSimpleName().asString(), identity())));
+    private Map<String, TypeParameterElementImpl> computeTypeParametersMap() {
+        int i = 0;
+        LinkedHashMap<String, TypeParameterElementImpl> typeParams = new LinkedHashMap<>();
+        for (Map.Entry<String, TypeParameterBound> e : getSignature().typeParameters.entrySet()) {
+            typeParams.put(e.getKey(), new TypeParameterElementImpl(lookup, e.getKey(), this, e.getValue(), i++));
+        }
+        return typeParams;
+    }
 
-        enclosedElements = scan.map(r -> {
-            Stream<TypeElementBase> innerClasses = r.innerClasses == null ? Stream.empty()
-                    : r.innerClasses.stream().map(c -> lookup.getTypeByInternalNameFromPackage(c, pkg));
+    private List<ElementImpl> computeEnclosedElements() {
+        ScanningResult r = scanned();
+        Stream<TypeElementBase> innerClasses = r.innerClasses == null ? Stream.empty()
+                : r.innerClasses.stream().map(c -> lookup.getTypeByInternalNameFromPackage(c, parentPackage));
 
-            return concat(concat(fields.get().values().stream(), methods.get().values().stream()), innerClasses)
-                    .collect(toList());
-        });
+        return concat(concat(FIELDS.get(this, memo).values().stream(), METHODS.get(this, memo).values().stream()),
+                innerClasses).collect(toList());
     }
 
     @Override
@@ -288,32 +309,28 @@ public final class TypeElementImpl extends TypeElementBase {
         return node;
     }
 
-    public MemoizedValue<DeclaredTypeImpl> getType() {
-        return type;
-    }
-
     public @Nullable ExecutableElementImpl getMethod(String methodName, String methodDescriptor) {
-        return methods.get().get(methodName + "#" + methodDescriptor);
+        return METHODS.get(this, memo).get(methodName + "#" + methodDescriptor);
     }
 
     @Override
     public List<ExecutableElementImpl> getMethod(String methodName) {
         String methodKey = methodName + "#";
-        return methods.get().entrySet().stream().filter(e -> e.getKey().startsWith(methodKey)).map(Map.Entry::getValue)
-                .collect(toList());
+        return METHODS.get(this, memo).entrySet().stream().filter(e -> e.getKey().startsWith(methodKey))
+                .map(Map.Entry::getValue).collect(toList());
     }
 
     @Override
     public VariableElementImpl.@Nullable Field getField(String name) {
-        return fields.get().get(name);
+        return FIELDS.get(this, memo).get(name);
     }
 
     public MemoizedValue<AnnotationSource> asAnnotationSource() {
-        return scan.map(s -> AnnotationSource.fromType(s.classNode));
+        return getAnnotationSource();
     }
 
-    public MemoizedValue<GenericTypeParameters> getSignature() {
-        return signature;
+    public GenericTypeParameters getSignature() {
+        return SIGNATURE.get(this, memo);
     }
 
     @Override
@@ -323,7 +340,7 @@ public final class TypeElementImpl extends TypeElementBase {
 
     @Override
     public Optional<TypeParameterElementImpl> resolveTypeVariable(String name) {
-        TypeParameterElementImpl p = typeParametersMap.get().get(name);
+        TypeParameterElementImpl p = TYPE_PARAMETERS_MAP.get(this, memo).get(name);
         if (p == null) {
             ElementImpl outer = getEnclosingElement();
             if (outer instanceof TypeVariableResolutionContext) {
@@ -338,57 +355,88 @@ public final class TypeElementImpl extends TypeElementBase {
 
     @Override
     public NestingKind getNestingKind() {
-        return nestingKind.get();
+        return scanned().nestingKind;
     }
 
     @Override
     public NameImpl getQualifiedName() {
-        return qualifiedName.get();
+        return QUALIFIED_NAME.get(this, memo);
     }
 
     @Override
     public TypeMirrorImpl getSuperclass() {
-        return superClass.get();
+        return SUPER_CLASS.get(this, memo);
     }
 
     @Override
     public List<TypeMirrorImpl> getInterfaces() {
-        return interfaces.get();
+        return INTERFACES.get(this, memo);
+    }
+
+    @Override
+    public @Nullable TypeElementBase getSuperclassElement() {
+        ClassNode n = scanned().classNode;
+        ElementKind kind = getKind();
+        if (n.superName == null || kind == ElementKind.INTERFACE || kind == ElementKind.ANNOTATION_TYPE) {
+            return null;
+        }
+
+        return lookup.getTypeByInternalNameFromModule(n.superName, parentPackage.getModule());
+    }
+
+    @Override
+    public List<TypeElementBase> getInterfaceElements() {
+        List<String> interfaces = scanned().classNode.interfaces;
+        List<TypeElementBase> ret = new ArrayList<>(interfaces.size());
+        for (String iface : interfaces) {
+            ret.add(lookup.getTypeByInternalNameFromModule(iface, parentPackage.getModule()));
+        }
+        return ret;
+    }
+
+    @Override
+    public SupertypeClosure getSupertypeClosure() {
+        return SUPERTYPES.get(this, memo);
+    }
+
+    @Override
+    public MemberTable getMemberTable() {
+        return MEMBERS.get(this, memo);
     }
 
     @Override
     public List<TypeParameterElementImpl> getTypeParameters() {
-        return typeParameters.get();
+        return TYPE_PARAMETERS.get(this, memo);
     }
 
     @Override
     public DeclaredTypeImpl asType() {
-        return type.get();
+        return TYPE.get(this, memo);
     }
 
     @Override
     public ElementKind getKind() {
-        return elementKind.get();
+        return ELEMENT_KIND.get(this, memo);
     }
 
     @Override
     public Set<Modifier> getModifiers() {
-        return modifiers.get();
+        return MODIFIERS.get(this, memo);
     }
 
     @Override
     public NameImpl getSimpleName() {
-        return simpleName.get();
+        return SIMPLE_NAME.get(this, memo);
     }
 
     @Override
     public ElementImpl getEnclosingElement() {
-        return enclosingElement.get();
+        return ENCLOSING_ELEMENT.get(this, memo);
     }
 
     @Override
     public List<ElementImpl> getEnclosedElements() {
-        return enclosedElements.get();
+        return ENCLOSED_ELEMENTS.get(this, memo);
     }
 
     @Override
@@ -129,11 +129,11 @@ public abstract class VariableElementImpl extends ElementImpl implements Variabl
             super(lookup, obtained(AnnotationSource.fromField(field)), parent.lookupModule(), field.name, parent);
             this.field = field;
             this.modifiers = Modifiers.toFieldModifiers(field.access);
+            MemoizedValue<AnnotationSource> annotationSource = getAnnotationSource();
             this.type = memoize(() -> {
                 String sig = field.signature == null ? field.desc : field.signature;
-                return TypeMirrorFactory.create(lookup, SignatureParser.parseTypeRef(sig), parent,
-                        obtained(AnnotationSource.fromField(field)), new AnnotationTargetPath(TypeReference.FIELD),
-                        parent.lookupModule());
+                return TypeMirrorFactory.create(lookup, SignatureParser.parseTypeRef(sig), parent, annotationSource,
+                        new AnnotationTargetPath(TypeReference.FIELD), parent.lookupModule());
             });
         }
 
@@ -180,10 +180,10 @@ public abstract class VariableElementImpl extends ElementImpl implements Variabl
             ParameterNode node = paramsInfo == null ? null : paramsInfo.get(index);
             this.modifiers = node == null ? emptySet() : Modifiers.toParameterModifiers(node.access);
 
-            this.type = method.getSignature().map(ms -> {
-                TypeSignature paramType = ms.parameterTypes.get(index);
-                return TypeMirrorFactory.create(lookup, paramType, method,
-                        obtained(AnnotationSource.fromMethodParameter(method.getNode(), index)),
+            MemoizedValue<AnnotationSource> annotationSource = getAnnotationSource();
+            this.type = memoize(() -> {
+                TypeSignature paramType = method.getSignature().parameterTypes.get(index);
+                return TypeMirrorFactory.create(lookup, paramType, method, annotationSource,
                         new AnnotationTargetPath(newFormalParameterReference(index)), method.getType().lookupModule());
             });
         }
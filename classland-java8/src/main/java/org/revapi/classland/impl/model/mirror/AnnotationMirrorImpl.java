@@ -36,40 +36,45 @@ import org.revapi.classland.impl.model.element.ExecutableElementImpl;
 import org.revapi.classland.impl.model.element.MissingExecutableElementImpl;
 import org.revapi.classland.impl.model.element.TypeElementBase;
 import org.revapi.classland.impl.model.element.VariableElementImpl;
+import org.revapi.classland.impl.util.MemoizedValue;
 
 public final class AnnotationMirrorImpl extends BaseModelImpl implements AnnotationMirror {
     private final DeclaredTypeImpl annotationType;
-    private final Map<ExecutableElementBase, AnnotationValueImpl> values;
+    private final MemoizedValue<Map<ExecutableElementBase, AnnotationValueImpl>> values;
 
     public AnnotationMirrorImpl(AnnotationNode node, TypeLookup lookup, TypeElementBase annotationType) {
         super(lookup);
         this.annotationType = annotationType.asType();
+        this.values = node.values == null ? MemoizedValue.obtained(Collections.emptyMap())
+                : MemoizedValue.memoize(() -> computeValues(node, lookup, annotationType));
+    }
 
-        if (node.values == null) {
-            values = Collections.emptyMap();
-        } else {
-            values = new LinkedHashMap<>(node.values.size(), 1);
-            boolean processingName = true;
-            String name = "";
-            for (Object v : node.values) {
-                if (processingName) {
-                    name = (String) v;
-                    processingName = false;
+    /**
+     * Pairs the values with the methods of the annotation type. The values themselves are only decoded when asked for.
+     */
+    private static Map<ExecutableElementBase, AnnotationValueImpl> computeValues(AnnotationNode node, TypeLookup lookup,
+            TypeElementBase annotationType) {
+        Map<ExecutableElementBase, AnnotationValueImpl> values = new LinkedHashMap<>(node.values.size(), 1);
+        boolean processingName = true;
+        String name = "";
+        for (Object v : node.values) {
+            if (processingName) {
+                name = (String) v;
+                processingName = false;
+            } else {
+                AnnotationValueImpl av = AnnotationValueImpl.fromAsmValue(lookup, v, annotationType.lookupModule());
+                List<ExecutableElementImpl> m = annotationType.getMethod(name);
+                if (m.isEmpty()) {
+                    MissingExecutableElementImpl mm = new MissingExecutableElementImpl(lookup, annotationType, name,
+                            deduceTypeFromAnnotationValue(av), emptyList());
+                    values.put(mm, av);
                 } else {
-                    AnnotationValueImpl av = AnnotationValueImpl.fromAsmValue(lookup, v, annotationType,
-                            annotationType.lookupModule());
-                    List<ExecutableElementImpl> m = annotationType.getMethod(name);
-                    if (m.isEmpty()) {
-                        MissingExecutableElementImpl mm = new MissingExecutableElementImpl(lookup, annotationType, name,
-                                deduceTypeFromAnnotationValue(av), emptyList());
-                        values.put(mm, av);
-                    } else {
-                        values.put(m.get(0), av);
-                    }
-                    processingName = true;
+                    values.put(m.get(0), av);
                 }
+                processingName = true;
             }
         }
+        return values;
     }
 
     @Override
@@ -79,7 +84,7 @@ public final class AnnotationMirrorImpl extends BaseModelImpl implements Annotat
 
     @Override
     public Map<ExecutableElementBase, AnnotationValueImpl> getElementValues() {
-        return values;
+        return values.get();
     }
 
     @Override
@@ -96,14 +101,14 @@ public final class AnnotationMirrorImpl extends BaseModelImpl implements Annotat
         if (!annotationType.equals(that.annotationType)) {
             return false;
         }
-        return values.equals(that.values);
+        return getElementValues().equals(that.getElementValues());
     }
 
     @Override
     public int hashCode() {
         int result = super.hashCode();
         result = 31 * result + annotationType.hashCode();
-        result = 31 * result + values.hashCode();
+        result = 31 * result + getElementValues().hashCode();
         return result;
     }
 
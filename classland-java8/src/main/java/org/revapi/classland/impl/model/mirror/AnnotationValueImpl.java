@@ -16,11 +16,11 @@
  */
 package org.revapi.classland.impl.model.mirror;
 
-import static java.util.stream.Collectors.toList;
-
 import java.io.StringWriter;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
@@ -34,33 +34,54 @@ import org.objectweb.asm.tree.AnnotationNode;
 import org.revapi.classland.PrettyPrinting;
 import org.revapi.classland.impl.TypeLookup;
 import org.revapi.classland.impl.model.BaseModelImpl;
-import org.revapi.classland.impl.model.anno.AnnotationSource;
-import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
 import org.revapi.classland.impl.model.element.ModuleElementImpl;
 import org.revapi.classland.impl.model.element.TypeElementBase;
 import org.revapi.classland.impl.model.element.VariableElementImpl;
-import org.revapi.classland.impl.model.signature.SignatureParser;
-import org.revapi.classland.impl.model.signature.TypeVariableResolutionContext;
 import org.revapi.classland.impl.util.MemoizedValue;
 import org.revapi.classland.impl.util.Nullable;
 
 public class AnnotationValueImpl extends BaseModelImpl implements AnnotationValue {
 
-    private final Object value;
+    // the value as read by ASM. The fields are final so that the values can be shared between threads without
+    // synchronization, see LazyValues.
+    private final Object asmValue;
+    private final @Nullable MemoizedValue<@Nullable ModuleElementImpl> typeLookupSource;
+    private volatile @Nullable Object value;
 
     public AnnotationValueImpl(TypeLookup lookup, Object value) {
         super(lookup);
+        this.asmValue = value;
+        this.typeLookupSource = null;
         this.value = value;
     }
 
+    private AnnotationValueImpl(TypeLookup lookup, Object asmValue,
+            MemoizedValue<@Nullable ModuleElementImpl> typeLookupSource) {
+        super(lookup);
+        this.asmValue = asmValue;
+        this.typeLookupSource = typeLookupSource;
+        this.value = needsDecoding(asmValue) ? null : asmValue;
+    }
+
+    /**
+     * Creates an annotation value from the value read by ASM. The class literals, enum constants, nested annotations
+     * and arrays are only decoded when the value is first asked for. The elements of arrays are decoded one by one, as
+     * they are accessed.
+     */
     public static AnnotationValueImpl fromAsmValue(TypeLookup lookup, Object value,
-            TypeVariableResolutionContext resolutionContext,
             MemoizedValue<@Nullable ModuleElementImpl> typeLookupSource) {
+        return new AnnotationValueImpl(lookup, value, typeLookupSource);
+    }
+
+    private static boolean needsDecoding(Object asmValue) {
+        return asmValue instanceof Type || asmValue instanceof String[] || asmValue instanceof AnnotationNode
+                || asmValue instanceof List;
+    }
+
+    private Object decode(Object value, MemoizedValue<@Nullable ModuleElementImpl> typeLookupSource) {
         if (value instanceof Type) {
             // class value
-            value = TypeMirrorFactory.create(lookup,
-                    SignatureParser.parseInternalName(((Type) value).getInternalName()), resolutionContext,
-                    AnnotationSource.MEMOIZED_EMPTY, AnnotationTargetPath.ROOT, typeLookupSource);
+            return lookup.getClassLiteralType(((Type) value).getInternalName(), typeLookupSource.get());
         } else if (value instanceof String[]) {
             // enum constants
             // the first element is the descriptor of the enum class, the second element is the name of the field
@@ -70,29 +91,32 @@ public class AnnotationValueImpl extends BaseModelImpl implements AnnotationValu
             TypeElementBase enumType = lookup.getTypeByInternalNameFromModule(
                     Type.getType(enumTypeDescriptor).getInternalName(), typeLookupSource.get());
 
-            value = enumType.getField(enumConstantName);
-            if (value == null) {
-                value = new VariableElementImpl.Missing(lookup, enumType.lookupModule(), enumType, enumConstantName,
+            Object ret = enumType.getField(enumConstantName);
+            if (ret == null) {
+                ret = new VariableElementImpl.Missing(lookup, enumType.lookupModule(), enumType, enumConstantName,
                         "L" + enumType.getInternalName() + ";", ElementKind.ENUM_CONSTANT);
             }
+            return ret;
         } else if (value instanceof AnnotationNode) {
             // annotation
-            value = new AnnotationMirrorImpl((AnnotationNode) value, lookup, lookup.getTypeByInternalNameFromModule(
+            return new AnnotationMirrorImpl((AnnotationNode) value, lookup, lookup.getTypeByInternalNameFromModule(
                     Type.getType(((AnnotationNode) value).desc).getInternalName(), typeLookupSource.get()));
-        } else if (value instanceof List) {
+        } else {
             // array of values
-
             // noinspection unchecked
-            value = ((List<Object>) value).stream()
-                    .map(v -> fromAsmValue(lookup, v, resolutionContext, typeLookupSource)).collect(toList());
+            return new LazyValues(lookup, (List<Object>) value, typeLookupSource);
         }
-
-        return new AnnotationValueImpl(lookup, value);
     }
 
     @Override
     public Object getValue() {
-        return value;
+        Object ret = value;
+        if (ret == null) {
+            // racy but harmless, the decoded values are equal
+            ret = typeLookupSource == null || !needsDecoding(asmValue) ? asmValue : decode(asmValue, typeLookupSource);
+            value = ret;
+        }
+        return ret;
     }
 
     @Override
@@ -101,11 +125,12 @@ public class AnnotationValueImpl extends BaseModelImpl implements AnnotationValu
             return false;
         }
         AnnotationValueImpl that = (AnnotationValueImpl) o;
-        return Objects.equals(value, that.value);
+        return Objects.equals(getValue(), that.getValue());
     }
 
     @Override
     public int hashCode() {
+        Object value = getValue();
         return 31 * super.hashCode() + (value == null ? 0 : value.hashCode());
     }
 
@@ -116,6 +141,7 @@ public class AnnotationValueImpl extends BaseModelImpl implements AnnotationValu
 
     @Override
     public <R, P> R accept(AnnotationValueVisitor<R, P> v, P p) {
+        Object value = getValue();
         switch (Kind.of(value)) {
         case BOOLEAN:
             return v.visitBoolean((Boolean) value, p);
@@ -149,6 +175,40 @@ public class AnnotationValueImpl extends BaseModelImpl implements AnnotationValu
         }
     }
 
+    /**
+     * The elements of an array value, each decoded when first accessed.
+     */
+    private static final class LazyValues extends AbstractList<AnnotationValueImpl> implements RandomAccess {
+        private final TypeLookup lookup;
+        private final List<Object> asmValues;
+        private final MemoizedValue<@Nullable ModuleElementImpl> typeLookupSource;
+        private final AnnotationValueImpl[] values;
+
+        LazyValues(TypeLookup lookup, List<Object> asmValues,
+                MemoizedValue<@Nullable ModuleElementImpl> typeLookupSource) {
+            this.lookup = lookup;
+            this.asmValues = asmValues;
+            this.typeLookupSource = typeLookupSource;
+            this.values = new AnnotationValueImpl[asmValues.size()];
+        }
+
+        @Override
+        public AnnotationValueImpl get(int index) {
+            AnnotationValueImpl ret = values[index];
+            if (ret == null) {
+                // racy but harmless - the values are equal and safely published through their final fields
+                ret = new AnnotationValueImpl(lookup, asmValues.get(index), typeLookupSource);
+                values[index] = ret;
+            }
+            return ret;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
     public enum Kind {
         BOOLEAN(Boolean.class), BYTE(Byte.class), SHORT(Short.class), INT(Integer.class), LONG(Long.class),
         FLOAT(Float.class), DOUBLE(Double.class), CHAR(Character.class), STRING(String.class), TYPE(TypeMirror.class),
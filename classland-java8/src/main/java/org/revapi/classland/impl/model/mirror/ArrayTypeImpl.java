@@ -40,13 +40,13 @@ public class ArrayTypeImpl extends TypeMirrorImpl implements ArrayType {
         this.componentType = componentType;
     }
 
-    private ArrayTypeImpl(TypeMirrorImpl componentType, MemoizedValue<List<AnnotationMirrorImpl>> annos) {
+    ArrayTypeImpl(TypeMirrorImpl componentType, MemoizedValue<List<AnnotationMirrorImpl>> annos) {
         super(componentType.getLookup(), annos);
         this.componentType = componentType;
     }
 
     private static AnnotationTargetPath arrayize(AnnotationTargetPath path, int dimensions) {
-        AnnotationTargetPath ret = path.clone();
+        AnnotationTargetPath ret = path;
         while (--dimensions > 0) {
             ret = ret.array();
         }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.model.mirror;
+
+import static org.revapi.classland.impl.util.MemoizedValue.obtainedEmptyList;
+import static org.revapi.classland.impl.util.MemoizedValue.obtainedNull;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.lang.model.type.TypeKind;
+
+import org.revapi.classland.impl.TypeLookup;
+import org.revapi.classland.impl.model.anno.AnnotationSource;
+import org.revapi.classland.impl.model.anno.AnnotationTargetPath;
+import org.revapi.classland.impl.model.element.TypeElementBase;
+import org.revapi.classland.impl.model.element.TypeParameterElementImpl;
+import org.revapi.classland.impl.util.Nullable;
+
+/**
+ * The canonical instances of the type mirrors that carry no annotations. There is a single instance of this class per
+ * universe (see {@link TypeLookup#canonicalTypes}).
+ *
+ * The mirrors are hash-consed - they are keyed by the identities of their elements and of their (canonical) component
+ * types. Therefore two structurally equal unannotated types obtained through the canonical instances are always the
+ * same instance.
+ *
+ * The mirrors only ever reference the elements and other mirrors of the same universe, so the table is strongly
+ * reachable from the universe and is released together with it.
+ */
+public final class CanonicalTypes {
+    private static final int DECLARED = 0;
+    private static final int ERROR = 1;
+    private static final int ARRAY = 2;
+    private static final int WILDCARD = 3;
+    private static final int TYPE_VARIABLE = 4;
+
+    private final TypeLookup lookup;
+    private final NoTypeImpl noType;
+    private final NoTypeImpl voidType;
+    private final PrimitiveTypeImpl unboxedVoid;
+    private final Map<TypeKind, PrimitiveTypeImpl> primitives = new EnumMap<>(TypeKind.class);
+    private final ConcurrentHashMap<Key, TypeMirrorImpl> types = new ConcurrentHashMap<>();
+
+    public CanonicalTypes(TypeLookup lookup) {
+        this.lookup = lookup;
+        this.noType = new NoTypeImpl(lookup, obtainedEmptyList(), TypeKind.NONE);
+        this.voidType = new NoTypeImpl(lookup, obtainedEmptyList(), TypeKind.VOID);
+        this.unboxedVoid = new PrimitiveTypeImpl(lookup, TypeKind.VOID);
+        for (TypeKind kind : TypeKind.values()) {
+            if (kind.isPrimitive()) {
+                primitives.put(kind, new PrimitiveTypeImpl(lookup, kind));
+            }
+        }
+    }
+
+    /**
+     * @return the no-type of the {@link TypeKind#NONE} kind
+     */
+    public NoTypeImpl noType() {
+        return noType;
+    }
+
+    public NoTypeImpl voidType() {
+        return voidType;
+    }
+
+    /**
+     * @return the primitive type of the {@link TypeKind#VOID} kind, which is what {@code java.lang.Void} unboxes to
+     */
+    public PrimitiveTypeImpl unboxedVoid() {
+        return unboxedVoid;
+    }
+
+    public PrimitiveTypeImpl primitive(TypeKind kind) {
+        PrimitiveTypeImpl ret = primitives.get(kind);
+        if (ret == null) {
+            throw new IllegalArgumentException(kind + " is not a primitive type kind.");
+        }
+        return ret;
+    }
+
+    public DeclaredTypeImpl declared(TypeElementBase type, @Nullable TypeMirrorImpl enclosingType,
+            List<TypeMirrorImpl> typeArguments) {
+        return (DeclaredTypeImpl) intern(new Key(DECLARED, type, enclosingType, typeArguments),
+                () -> new DeclaredTypeImpl(lookup, type, enclosingType, typeArguments, obtainedEmptyList()));
+    }
+
+    public ErrorTypeImpl error(TypeElementBase type, @Nullable TypeMirrorImpl enclosingType,
+            List<TypeMirrorImpl> typeArguments) {
+        return (ErrorTypeImpl) intern(new Key(ERROR, type, enclosingType, typeArguments),
+                () -> new ErrorTypeImpl(lookup, type, enclosingType, typeArguments, obtainedEmptyList()));
+    }
+
+    public ArrayTypeImpl array(TypeMirrorImpl componentType) {
+        return (ArrayTypeImpl) intern(new Key(ARRAY, componentType),
+                () -> new ArrayTypeImpl(componentType, obtainedEmptyList()));
+    }
+
+    public WildcardTypeImpl wildcard(@Nullable TypeMirrorImpl extendsBound, @Nullable TypeMirrorImpl superBound) {
+        return (WildcardTypeImpl) intern(new Key(WILDCARD, extendsBound, superBound),
+                () -> new WildcardTypeImpl(lookup, extendsBound, superBound, obtainedEmptyList()));
+    }
+
+    public TypeVariableImpl typeVariable(TypeParameterElementImpl typeParameter) {
+        return (TypeVariableImpl) intern(new Key(TYPE_VARIABLE, typeParameter),
+                () -> new TypeVariableImpl(typeParameter, AnnotationSource.MEMOIZED_EMPTY, AnnotationTargetPath.ROOT,
+                        obtainedNull()));
+    }
+
+    /**
+     * @return the number of the interned composite types
+     */
+    public int size() {
+        return types.size();
+    }
+
+    private TypeMirrorImpl intern(Key key, Supplier<TypeMirrorImpl> ctor) {
+        TypeMirrorImpl ret = types.get(key);
+        if (ret == null) {
+            // the construction is cheap and side-effect free, so it doesn't matter if several threads race here
+            TypeMirrorImpl created = ctor.get();
+            ret = types.putIfAbsent(key, created);
+            if (ret == null) {
+                ret = created;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * The parts of the key are compared by identity. This is what makes the mirrors canonical - the equality of the
+     * mirrors themselves is too lenient to be used as a key.
+     */
+    private static final class Key {
+        private final int kind;
+        private final Object[] parts;
+        private final int hash;
+
+        Key(int kind, @Nullable Object... parts) {
+            this.kind = kind;
+            this.parts = parts;
+            int h = kind;
+            for (Object p : parts) {
+                h = 31 * h + System.identityHashCode(p);
+            }
+            this.hash = h;
+        }
+
+        Key(int kind, TypeElementBase type, @Nullable TypeMirrorImpl enclosingType,
+                List<TypeMirrorImpl> typeArguments) {
+            this(kind, flatten(type, enclosingType, typeArguments));
+        }
+
+        private static Object[] flatten(TypeElementBase type, @Nullable TypeMirrorImpl enclosingType,
+                List<TypeMirrorImpl> typeArguments) {
+            Object[] ret = new Object[typeArguments.size() + 2];
+            ret[0] = type;
+            ret[1] = enclosingType;
+            for (int i = 0; i < typeArguments.size(); ++i) {
+                ret[i + 2] = typeArguments.get(i);
+            }
+            return ret;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            if (kind != that.kind || hash != that.hash || parts.length != that.parts.length) {
+                return false;
+            }
+
+            for (int i = 0; i < parts.length; ++i) {
+                if (parts[i] != that.parts[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" + "kind=" + kind + ", parts=" + Arrays.toString(parts) + '}';
+        }
+    }
+}
@@ -16,10 +16,6 @@
  */
 package org.revapi.classland.impl.model.mirror;
 
-import static java.util.Collections.emptyList;
-
-import static org.revapi.classland.impl.util.MemoizedValue.obtained;
-
 import java.util.List;
 
 import javax.lang.model.type.DeclaredType;
@@ -43,8 +39,7 @@ public class DeclaredTypeImpl extends TypeMirrorImpl implements DeclaredType {
             AnnotationTargetPath path) {
         super(lookup, annotationSource, path, source.lookupModule());
         this.source = source;
-        this.enclosingType = enclosingType == null ? new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE)
-                : enclosingType;
+        this.enclosingType = enclosingType == null ? lookup.canonicalTypes.noType() : enclosingType;
         this.typeArguments = typeArguments;
     }
 
@@ -52,8 +47,7 @@ public class DeclaredTypeImpl extends TypeMirrorImpl implements DeclaredType {
             List<TypeMirrorImpl> typeArguments, MemoizedValue<List<AnnotationMirrorImpl>> annos) {
         super(lookup, annos);
         this.source = source;
-        this.enclosingType = enclosingType == null ? new NoTypeImpl(lookup, obtained(emptyList()), TypeKind.NONE)
-                : enclosingType;
+        this.enclosingType = enclosingType == null ? lookup.canonicalTypes.noType() : enclosingType;
         this.typeArguments = typeArguments;
     }
 
@@ -52,6 +52,11 @@ public final class TypeMirrorFactory {
     private static final TypeSignature.Visitor<TypeMirrorImpl, ResolutionContext> SIGNATURE_VISITOR = new TypeSignature.Visitor<TypeMirrorImpl, ResolutionContext>() {
         @Override
         public TypeMirrorImpl visitPrimitiveType(TypeSignature.PrimitiveType type, ResolutionContext ctx) {
+            if (ctx.isCanonical()) {
+                return type.type == TypeKind.VOID ? ctx.lookup.canonicalTypes.voidType()
+                        : asArray(ctx.lookup.canonicalTypes.primitive(type.type), type.arrayDimension, ctx);
+            }
+
             return type.type == TypeKind.VOID
                     ? new NoTypeImpl(ctx.lookup,
                             memoize(() -> parseAnnotations(ctx.lookup, ctx.annotationSource.get(), ctx.path,
@@ -68,7 +73,8 @@ public final class TypeMirrorFactory {
             // TODO this is not correct... Type variables can also represent wildcard capture, which
             // is currently not covered here...
             return ctx.variables.resolveTypeVariable(typeVariable.name)
-                    .map(tp -> new TypeVariableImpl(tp, ctx.annotationSource, ctx.path, ctx.typeLookupSeed))
+                    .map(tp -> ctx.isCanonical() ? ctx.lookup.canonicalTypes.typeVariable(tp)
+                            : new TypeVariableImpl(tp, ctx.annotationSource, ctx.path, ctx.typeLookupSeed))
                     .orElse(null);
         }
 
@@ -81,25 +87,26 @@ public final class TypeMirrorFactory {
             int i = 0;
             for (Bound b : typeReference.typeArguments) {
                 AnnotationTargetPath oldPath = ctx.path;
-                AnnotationTargetPath newPath = ctx.path.clone().typeArgument(i++);
-                ctx.path = newPath;
+                AnnotationTargetPath argPath = oldPath.typeArgument(i++);
+                ctx.path = argPath;
                 switch (b.boundType) {
                 case UNBOUNDED:
-                    args.add(new WildcardTypeImpl(ctx.lookup, null, null, ctx.annotationSource, ctx.path,
-                            ctx.typeLookupSeed));
+                    args.add(wildcard(null, null, ctx));
                     break;
                 case EXACT:
                     args.add(b.type.accept(this, ctx));
                     break;
                 case SUPER:
-                    newPath.wildcardBound();
-                    args.add(new WildcardTypeImpl(ctx.lookup, null, b.type.accept(this, ctx), ctx.annotationSource,
-                            ctx.path, ctx.typeLookupSeed));
+                    ctx.path = argPath.wildcardBound();
+                    TypeMirrorImpl superBound = b.type.accept(this, ctx);
+                    ctx.path = argPath;
+                    args.add(wildcard(null, superBound, ctx));
                     break;
                 case EXTENDS:
-                    newPath.wildcardBound();
-                    args.add(new WildcardTypeImpl(ctx.lookup, b.type.accept(this, ctx), null, ctx.annotationSource,
-                            ctx.path, ctx.typeLookupSeed));
+                    ctx.path = argPath.wildcardBound();
+                    TypeMirrorImpl extendsBound = b.type.accept(this, ctx);
+                    ctx.path = argPath;
+                    args.add(wildcard(extendsBound, null, ctx));
                     break;
                 default:
                     throw new IllegalStateException("Unhandled bound " + b);
@@ -111,7 +118,10 @@ public final class TypeMirrorFactory {
                     : typeReference.outerClass.accept(this, ctx);
 
             TypeMirrorImpl ret;
-            if (t instanceof MissingTypeImpl) {
+            if (ctx.isCanonical()) {
+                ret = t instanceof MissingTypeImpl ? ctx.lookup.canonicalTypes.error(t, enclosing, args)
+                        : ctx.lookup.canonicalTypes.declared(t, enclosing, args);
+            } else if (t instanceof MissingTypeImpl) {
                 ret = new ErrorTypeImpl(ctx.lookup, t, enclosing, args, ctx.annotationSource,
                         targetArrayDimension(ctx.path, typeReference));
             } else {
@@ -122,8 +132,15 @@ public final class TypeMirrorFactory {
             return asArray(ret, typeReference.arrayDimension, ctx);
         }
 
+        private TypeMirrorImpl wildcard(@Nullable TypeMirrorImpl extendsBound, @Nullable TypeMirrorImpl superBound,
+                ResolutionContext ctx) {
+            return ctx.isCanonical() ? ctx.lookup.canonicalTypes.wildcard(extendsBound, superBound)
+                    : new WildcardTypeImpl(ctx.lookup, extendsBound, superBound, ctx.annotationSource, ctx.path,
+                            ctx.typeLookupSeed);
+        }
+
         private AnnotationTargetPath targetArrayDimension(AnnotationTargetPath path, TypeSignature.Arrayable type) {
-            AnnotationTargetPath ret = path.clone();
+            AnnotationTargetPath ret = path;
             int dim = type.arrayDimension;
             while (dim-- > 0) {
                 ret = ret.array();
@@ -135,7 +152,8 @@ public final class TypeMirrorFactory {
         private TypeMirrorImpl asArray(TypeMirrorImpl type, int dimensions, ResolutionContext ctx) {
             int dim = 0;
             while (dim++ < dimensions) {
-                type = new ArrayTypeImpl(type, dim, ctx.annotationSource, ctx.path, ctx.typeLookupSeed);
+                type = ctx.isCanonical() ? ctx.lookup.canonicalTypes.array(type)
+                        : new ArrayTypeImpl(type, dim, ctx.annotationSource, ctx.path, ctx.typeLookupSeed);
             }
 
             return type;
@@ -181,8 +199,7 @@ public final class TypeMirrorFactory {
     }
 
     public static PrimitiveTypeImpl createPrimitive(TypeLookup lookup, TypeKind kind) {
-        return new PrimitiveTypeImpl(lookup, kind, AnnotationSource.MEMOIZED_EMPTY, AnnotationTargetPath.ROOT,
-                obtainedNull());
+        return lookup.canonicalTypes.primitive(kind);
     }
 
     private static TypeMirrorImpl create(TypeSignature type, ResolutionContext ctx) {
@@ -194,6 +211,17 @@ public final class TypeMirrorFactory {
         final TypeVariableResolutionContext variables;
         final MemoizedValue<AnnotationSource> annotationSource;
         final MemoizedValue<@Nullable ModuleElementImpl> typeLookupSeed;
+        /**
+         * Whether the resolution started at the root path, where the mirrors get the declaration annotations of the
+         * source, as opposed to a type reference, where they only get its type annotations.
+         */
+        private final boolean startedAtRoot;
+        /**
+         * Whether none of the created mirrors can carry any annotations. Such mirrors are shared using the
+         * {@link CanonicalTypes}. Computed on the first use from the annotation lists of the source the element shares
+         * with all its mirrors, so creating the context doesn't obtain the source.
+         */
+        private @Nullable Boolean canonical;
         AnnotationTargetPath path;
 
         ResolutionContext(TypeLookup lookup, TypeVariableResolutionContext variables,
@@ -204,6 +232,19 @@ public final class TypeMirrorFactory {
             this.annotationSource = annotationSource;
             this.path = path;
             this.typeLookupSeed = typeLookupSeed;
+            this.startedAtRoot = path.ref == null;
+        }
+
+        boolean isCanonical() {
+            Boolean ret = canonical;
+            if (ret == null) {
+                AnnotationSource source = annotationSource.get();
+                ret = startedAtRoot
+                        ? source.getVisibleAnnotations().isEmpty() && source.getInvisibleAnnotations().isEmpty()
+                        : !source.hasTypeAnnotations();
+                canonical = ret;
+            }
+            return ret;
         }
     }
 }
@@ -41,8 +41,8 @@ public class WildcardTypeImpl extends TypeMirrorImpl implements WildcardType {
         this.superBound = superBound;
     }
 
-    private WildcardTypeImpl(TypeLookup lookup, @Nullable TypeMirrorImpl extendsBound,
-            @Nullable TypeMirrorImpl superBound, MemoizedValue<List<AnnotationMirrorImpl>> annos) {
+    WildcardTypeImpl(TypeLookup lookup, @Nullable TypeMirrorImpl extendsBound, @Nullable TypeMirrorImpl superBound,
+            MemoizedValue<List<AnnotationMirrorImpl>> annos) {
         super(lookup, annos);
         this.extendsBound = extendsBound;
         this.superBound = superBound;
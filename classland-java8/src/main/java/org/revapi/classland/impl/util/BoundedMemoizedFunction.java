@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A memoized function that only remembers a limited number of values. This is meant for the functions whose parameters
+ * come from the callers of the public API, such as the names being looked up, which can be arbitrary and would make an
+ * unbounded {@link MemoizedFunction} grow forever.
+ *
+ * When the function is full, a new value replaces one of the least frequently used values. The frequencies are
+ * approximated by a small saturating counter per value which is incremented on every hit and halved every time the
+ * eviction passes over the value (the "generalized clock" algorithm), so the values that used to be popular but aren't
+ * used anymore eventually get evicted, too.
+ *
+ * The values are computed outside of any lock. If several threads compute the value for the same parameter at the same
+ * time, the first one to finish wins and all of them receive its result. The computations should therefore not have any
+ * side effects other than creating the value. Null values are not memoized.
+ */
+public final class BoundedMemoizedFunction<T, R> implements Function<T, R> {
+    private static final int MAX_FREQUENCY = 15;
+
+    private final Function<T, R> action;
+    private final ConcurrentHashMap<T, Entry<T, R>> values;
+    private final Entry<?, ?>[] clock;
+    private int hand;
+    private int size;
+
+    private BoundedMemoizedFunction(int maxSize, Function<T, R> action) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive.");
+        }
+        this.action = action;
+        this.values = new ConcurrentHashMap<>();
+        this.clock = new Entry<?, ?>[maxSize];
+    }
+
+    public static <T, R> BoundedMemoizedFunction<T, R> memoize(int maxSize, Function<T, R> action) {
+        return new BoundedMemoizedFunction<>(maxSize, action);
+    }
+
+    @Override
+    public R apply(T param) {
+        Entry<T, R> entry = values.get(param);
+        if (entry != null) {
+            entry.hit();
+            return entry.value;
+        }
+
+        R value = action.apply(param);
+        if (value == null) {
+            return null;
+        }
+
+        return admit(new Entry<>(param, value));
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private synchronized R admit(Entry<T, R> entry) {
+        Entry<T, R> existing = values.putIfAbsent(entry.key, entry);
+        if (existing != null) {
+            return existing.value;
+        }
+
+        if (size < clock.length) {
+            clock[size++] = entry;
+            return entry.value;
+        }
+
+        while (true) {
+            Entry<?, ?> candidate = clock[hand];
+            if (candidate.frequency == 0) {
+                values.remove(candidate.key, candidate);
+                clock[hand] = entry;
+                hand = (hand + 1) % clock.length;
+                return entry.value;
+            }
+
+            candidate.frequency >>= 1;
+            hand = (hand + 1) % clock.length;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedMemoized{size=" + values.size() + ", maxSize=" + clock.length + "}";
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        // races on the counter only make the frequency less precise, which is fine for the eviction heuristic
+        int frequency;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        void hit() {
+            if (frequency < MAX_FREQUENCY) {
+                frequency++;
+            }
+        }
+    }
+}
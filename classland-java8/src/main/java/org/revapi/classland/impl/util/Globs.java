@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Support for simple glob patterns matched against dot-separated names.
+ *
+ * <ul>
+ * <li>{@code ?} matches any single character except for a dot,
+ * <li>{@code *} matches any number of characters except for dots,
+ * <li>{@code **} matches any number of any characters,
+ * <li>a trailing {@code .**} also matches the name without it, i.e. {@code com.acme.**} matches {@code com.acme}, too.
+ * </ul>
+ */
+public final class Globs {
+    private static final String REGEX_SPECIALS = "\\.[]{}()<>+-=!^$|";
+
+    private Globs() {
+
+    }
+
+    public static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() * 2);
+        int len = glob.length();
+        int i = 0;
+        while (i < len) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < len && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i += 2;
+                    continue;
+                }
+                regex.append("[^.]*");
+            } else if (c == '?') {
+                regex.append("[^.]");
+            } else if (c == '.' && i + 3 == len && glob.endsWith(".**")) {
+                regex.append("(\\..*)?");
+                break;
+            } else {
+                if (REGEX_SPECIALS.indexOf(c) >= 0) {
+                    regex.append('\\');
+                }
+                regex.append(c);
+            }
+            ++i;
+        }
+
+        return Pattern.compile(regex.toString());
+    }
+}
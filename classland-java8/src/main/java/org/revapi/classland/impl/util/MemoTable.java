@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The storage of the memoized functions. Unlike {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}, the values
+ * are computed outside of any lock of the map, so a computation can freely look up other keys in the same table and the
+ * threads computing or reading unrelated keys never block each other.
+ *
+ * While a value is being computed, the table holds a placeholder for it. Other threads asking for the same key wait for
+ * the computation to finish. A computation that (directly or through other tables) asks for its own key fails with an
+ * {@link IllegalStateException}, because it could never finish. If waiting for another thread would close a cycle of
+ * threads waiting for each other (see {@link WaitGraph}), the value is computed again in the waiting thread instead and
+ * published in place of the placeholder. The owner of the placeholder then returns the published value instead of its
+ * own, so all the callers see the same instance.
+ *
+ * Same as with {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}, null values are not memoized and are
+ * computed again on the next call.
+ */
+final class MemoTable<K, V> {
+    private final ConcurrentHashMap<K, Object> values = new ConcurrentHashMap<>();
+
+    int size() {
+        return values.size();
+    }
+
+    V get(K key, Function<? super K, ? extends V> computation) {
+        return get(key, computation, MemoTable::applyFunction);
+    }
+
+    /**
+     * A variant of {@link #get(Object, Function)} for computations that need an additional argument. This avoids
+     * allocating a capturing lambda on every call.
+     */
+    <A> V get(K key, A argument, BiFunction<? super K, ? super A, ? extends V> computation) {
+        Object value = values.get(key);
+        if (value != null && !(value instanceof Placeholder)) {
+            return uncheckedCast(value);
+        }
+
+        return compute(key, argument, computation);
+    }
+
+    private static <K, V> V applyFunction(K key, Function<? super K, ? extends V> function) {
+        return function.apply(key);
+    }
+
+    private <A> V compute(K key, A argument, BiFunction<? super K, ? super A, ? extends V> computation) {
+        while (true) {
+            Object value = values.get(key);
+            if (value == null) {
+                Placeholder placeholder = new Placeholder(key);
+                if (values.putIfAbsent(key, placeholder) == null) {
+                    return computeAndPublish(key, argument, placeholder, computation);
+                }
+            } else if (value instanceof Placeholder) {
+                Placeholder placeholder = (Placeholder) value;
+                if (placeholder.owner == Thread.currentThread()) {
+                    throw new IllegalStateException(
+                            "Cyclic memoized computation detected. The value for '" + key + "' depends on itself.");
+                }
+
+                if (WaitGraph.startWaiting(placeholder.owner)) {
+                    try {
+                        placeholder.await();
+                    } finally {
+                        WaitGraph.stopWaiting();
+                    }
+                } else {
+                    // the owner of the placeholder (indirectly) waits for us
+                    V ret = computation.apply(key, argument);
+                    if (ret != null && values.replace(key, placeholder, ret)) {
+                        placeholder.finish();
+                        return ret;
+                    }
+
+                    Object published = values.get(key);
+                    return published == null || published instanceof Placeholder ? ret : uncheckedCast(published);
+                }
+            } else {
+                return uncheckedCast(value);
+            }
+        }
+    }
+
+    private <A> V computeAndPublish(K key, A argument, Placeholder placeholder,
+            BiFunction<? super K, ? super A, ? extends V> computation) {
+        V ret;
+        try {
+            ret = computation.apply(key, argument);
+        } catch (Throwable t) {
+            // let the next caller try again
+            values.remove(key, placeholder);
+            placeholder.finish();
+            throw t;
+        }
+
+        if (ret == null) {
+            values.remove(key, placeholder);
+        } else if (!values.replace(key, placeholder, ret)) {
+            // a thread that would otherwise deadlock waiting for us published its value first
+            Object published = values.get(key);
+            if (published != null && !(published instanceof Placeholder)) {
+                ret = uncheckedCast(published);
+            }
+        }
+        placeholder.finish();
+        return ret;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V uncheckedCast(Object value) {
+        return (V) value;
+    }
+
+    private static final class Placeholder {
+        final Thread owner = Thread.currentThread();
+        final Object key;
+        private boolean finished;
+
+        Placeholder(Object key) {
+            this.key = key;
+        }
+
+        synchronized void await() {
+            boolean interrupted = false;
+            while (!finished) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized void finish() {
+            finished = true;
+            notifyAll();
+        }
+
+        @Override
+        public String toString() {
+            return "Placeholder{key=" + key + ", owner=" + owner.getName() + "}";
+        }
+    }
+}
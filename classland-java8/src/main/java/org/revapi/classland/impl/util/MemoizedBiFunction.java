@@ -18,18 +18,15 @@ package org.revapi.classland.impl.util;
 
 import static org.revapi.classland.impl.util.MemoizedValue.DEBUG;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 public class MemoizedBiFunction<T, U, R> implements BiFunction<T, U, R> {
     private final @Nullable BiFunction<T, U, R> action;
-    protected Map<Pair<T, U>, R> values;
+    protected final MemoTable<Pair<T, U>, R> values = new MemoTable<>();
 
     private MemoizedBiFunction(@Nullable BiFunction<T, U, R> action) {
         this.action = action;
-        values = new ConcurrentHashMap<>();
     }
 
     private static <T, U, R> MemoizedBiFunction<T, U, R> instantiate(@Nullable BiFunction<T, U, R> action) {
@@ -50,7 +47,11 @@ public class MemoizedBiFunction<T, U, R> implements BiFunction<T, U, R> {
 
     @Override
     public R apply(T a, U b) {
-        return values.computeIfAbsent(new Pair<>(a, b), __ -> action.apply(a, b));
+        return values.get(new Pair<>(a, b), action, MemoizedBiFunction::applyToPair);
+    }
+
+    private static <T, U, R> R applyToPair(Pair<T, U> pair, BiFunction<T, U, R> action) {
+        return action.apply(pair.first, pair.second);
     }
 
     private static final class Pair<T, U> {
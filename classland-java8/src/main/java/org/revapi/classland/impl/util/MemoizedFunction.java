@@ -18,17 +18,14 @@ package org.revapi.classland.impl.util;
 
 import static org.revapi.classland.impl.util.MemoizedValue.DEBUG;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 public class MemoizedFunction<T, R> implements Function<T, R> {
     private final @Nullable Function<T, R> action;
-    protected Map<T, R> values;
+    protected final MemoTable<T, R> values = new MemoTable<>();
 
     private MemoizedFunction(@Nullable Function<T, R> action) {
         this.action = action;
-        values = new ConcurrentHashMap<>();
     }
 
     private static <T, R> MemoizedFunction<T, R> instantiate(@Nullable Function<T, R> action) {
@@ -49,7 +46,7 @@ public class MemoizedFunction<T, R> implements Function<T, R> {
 
     @Override
     public R apply(T param) {
-        return values.computeIfAbsent(param, __ -> action.apply(param));
+        return values.get(param, action);
     }
 
     public <U> MemoizedFunction<T, U> map(Function<R, U> action) {
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A compact alternative to having a {@link MemoizedValue} per lazily computed property of an object. The class declares
+ * its properties once as static slots together with the (non-capturing) functions computing them and each instance only
+ * holds a single array of the computed values (see {@link #newValues()}).
+ *
+ * The values are published using a CAS and the first published value wins. Unlike with {@link MemoizedValue}, a value
+ * may therefore be computed more than once if several threads race for it, but all of them end up with the same
+ * instance. The computations of such slots therefore must not have any side effects other than creating the value. The
+ * computations that create objects with an identity that matters, e.g. child elements that end up as keys in
+ * identity-based caches, should use the slots declared using {@link #onceSlot(Function)} instead.
+ *
+ * @param <O>
+ *            the type of the objects owning the values
+ */
+public final class MemoizedSlots<O> {
+    private static final Object NULL = new Object();
+    private int size;
+
+    /**
+     * Declares a new slot. This is meant to be called only during the static initialization of the owning class.
+     */
+    public <T> Slot<O, T> slot(Function<? super O, ? extends T> computation) {
+        return new Slot<>(size++, computation, null, false);
+    }
+
+    /**
+     * Declares a new slot whose value is computed only once, like a {@link MemoizedValue}. The slot holds a placeholder
+     * while the value is being computed and the other threads asking for the value wait for the computation to finish.
+     * The value is only computed again if the computing thread asks for it recursively or if waiting would close a
+     * cycle of threads waiting for each other (see {@link WaitGraph}), in which case the first published value wins.
+     * This is meant to be called only during the static initialization of the owning class.
+     */
+    public <T> Slot<O, T> onceSlot(Function<? super O, ? extends T> computation) {
+        return new Slot<>(size++, computation, null, true);
+    }
+
+    /**
+     * Declares a new slot for a computation that can ask for its own value, e.g. when walking a graph that may contain
+     * cycles. Similar to {@link MemoTable}, the slot holds a placeholder while the value is being computed. A thread
+     * that asks for the value while computing it gets the result of {@code onCycle} instead, which is not memoized.
+     * This is meant to be called only during the static initialization of the owning class.
+     */
+    public <T> Slot<O, T> slot(Function<? super O, ? extends T> computation, Function<? super O, ? extends T> onCycle) {
+        return new Slot<>(size++, computation, onCycle, false);
+    }
+
+    /**
+     * @return the storage for the values of the slots of a single instance
+     */
+    public AtomicReferenceArray<Object> newValues() {
+        return new AtomicReferenceArray<>(size);
+    }
+
+    public static final class Slot<O, T> {
+        private final int index;
+        private final Function<? super O, ? extends T> computation;
+        private final @Nullable Function<? super O, ? extends T> onCycle;
+        private final boolean once;
+
+        private Slot(int index, Function<? super O, ? extends T> computation,
+                @Nullable Function<? super O, ? extends T> onCycle, boolean once) {
+            this.index = index;
+            this.computation = computation;
+            this.onCycle = onCycle;
+            this.once = once;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(O owner, AtomicReferenceArray<Object> values) {
+            Object value = values.get(index);
+            if (value instanceof Placeholder) {
+                return computeGuarded(owner, values, (Placeholder) value);
+            } else if (value instanceof Computation) {
+                return computeOnce(owner, values, (Computation) value);
+            } else if (value == null) {
+                if (onCycle != null) {
+                    return computeGuarded(owner, values, null);
+                } else if (once) {
+                    return computeOnce(owner, values, null);
+                }
+
+                Object computed = computation.apply(owner);
+                if (computed == null) {
+                    computed = NULL;
+                }
+
+                value = values.compareAndSet(index, null, computed) ? computed : values.get(index);
+            }
+
+            return value == NULL ? null : (T) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T computeGuarded(O owner, AtomicReferenceArray<Object> values, @Nullable Placeholder placeholder) {
+            while (placeholder == null) {
+                Placeholder newPlaceholder = new Placeholder();
+                if (values.compareAndSet(index, null, newPlaceholder)) {
+                    placeholder = newPlaceholder;
+                } else {
+                    Object value = values.get(index);
+                    if (value instanceof Placeholder) {
+                        placeholder = (Placeholder) value;
+                    } else if (value != null) {
+                        return value == NULL ? null : (T) value;
+                    }
+                }
+            }
+
+            Thread current = Thread.currentThread();
+            if (!placeholder.computingThreads.add(current)) {
+                assert onCycle != null;
+                return onCycle.apply(owner);
+            }
+
+            Object computed;
+            try {
+                computed = computation.apply(owner);
+            } finally {
+                placeholder.computingThreads.remove(current);
+            }
+
+            if (computed == null) {
+                computed = NULL;
+            }
+
+            // unlike MemoTable, we don't wait for the other threads computing the value, so the placeholder is only
+            // ever replaced by the first published value
+            Object value = values.compareAndSet(index, placeholder, computed) ? computed : values.get(index);
+            return value == NULL ? null : (T) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T computeOnce(O owner, AtomicReferenceArray<Object> values, @Nullable Computation pending) {
+            while (true) {
+                if (pending == null) {
+                    Computation newPending = new Computation();
+                    if (values.compareAndSet(index, null, newPending)) {
+                        return computeAndPublish(owner, values, newPending);
+                    }
+                } else if (pending.owner != Thread.currentThread() && WaitGraph.startWaiting(pending.owner)) {
+                    try {
+                        pending.await();
+                    } finally {
+                        WaitGraph.stopWaiting();
+                    }
+                } else {
+                    // a recursive call, or the owner of the computation (indirectly) waits for us
+                    return publish(values, pending, computation.apply(owner));
+                }
+
+                Object value = values.get(index);
+                if (value instanceof Computation) {
+                    pending = (Computation) value;
+                } else if (value == null) {
+                    pending = null;
+                } else {
+                    return value == NULL ? null : (T) value;
+                }
+            }
+        }
+
+        private T computeAndPublish(O owner, AtomicReferenceArray<Object> values, Computation pending) {
+            T computed;
+            try {
+                computed = computation.apply(owner);
+            } catch (Throwable t) {
+                // let the next caller try again
+                values.compareAndSet(index, pending, null);
+                pending.finish();
+                throw t;
+            }
+
+            T ret = publish(values, pending, computed);
+            pending.finish();
+            return ret;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T publish(AtomicReferenceArray<Object> values, Computation pending, @Nullable T computed) {
+            Object value = computed == null ? NULL : computed;
+            if (!values.compareAndSet(index, pending, value)) {
+                value = values.get(index);
+                if (value == null || value instanceof Computation) {
+                    // the computation failed in the meantime and someone else might already be computing the value
+                    // again, so we can only return ours
+                    return computed;
+                }
+            }
+            return value == NULL ? null : (T) value;
+        }
+    }
+
+    private static final class Placeholder {
+        final Set<Thread> computingThreads = ConcurrentHashMap.newKeySet();
+    }
+
+    private static final class Computation {
+        final Thread owner = Thread.currentThread();
+        private boolean finished;
+
+        synchronized void await() {
+            boolean interrupted = false;
+            while (!finished) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized void finish() {
+            finished = true;
+            notifyAll();
+        }
+    }
+}
@@ -18,16 +18,35 @@ package org.revapi.classland.impl.util;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * A lazily computed value. The value is computed at most once, unless the computation fails or the same thread asks for
+ * the value again while computing it.
+ *
+ * The implementation doesn't use any locks on the fast path. The state goes from pending, through computing, to done
+ * using a CAS. The threads that find the value being computed by another thread wait for it. A recursive call from the
+ * computing thread computes the value again instead of deadlocking, the same as the reentrant monitor used to, and so
+ * does a thread whose waiting would close a cycle of threads waiting for each other (see {@link WaitGraph}). The first
+ * published value wins so that all the callers see the same instance. The monitor of the computation is used for the
+ * waiting and for publishing the value, so that the value computed by such a thread and the one computed by the owner
+ * of the computation cannot both be published.
+ */
 public class MemoizedValue<T> implements Supplier<T> {
     static final boolean DEBUG = "true".equals(System.getenv("CLASSLAND_MEMOIZATION_DEBUG"));
+    private static final Object PENDING = new Object();
+    private static final Object DONE = new Object();
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MemoizedValue, Object> STATE = AtomicReferenceFieldUpdater
+            .newUpdater(MemoizedValue.class, Object.class, "state");
     private static final MemoizedValue<?> NULL = obtained(null);
     private static final MemoizedValue<?> EMPTY_LIST = obtained(Collections.emptyList());
 
     private @Nullable Supplier<T> action;
-    protected volatile boolean obtained;
+    // PENDING, DONE or the Computation in progress
+    private volatile Object state = PENDING;
     protected T value;
 
     private MemoizedValue(@Nullable Supplier<T> action) {
@@ -62,38 +81,97 @@ public class MemoizedValue<T> implements Supplier<T> {
 
     public static <T> MemoizedValue<T> obtained(T value) {
         MemoizedValue<T> ret = instantiate(null);
-        ret.obtained = true;
         ret.value = value;
+        ret.state = DONE;
         return ret;
     }
 
     @Override
     public T get() {
-        if (obtained) {
+        if (state == DONE) {
             return value;
         }
 
-        synchronized (this) {
-            if (obtained) {
-                return value;
-            }
+        return compute();
+    }
 
-            assert action != null;
-            value = action.get();
+    public synchronized T swap(T newValue) {
+        T val = get();
+        this.value = newValue;
+        // publish the new value
+        state = DONE;
+        return val;
+    }
 
-            obtained = true;
+    protected boolean isObtained() {
+        return state == DONE;
+    }
 
-            action = null;
+    private T compute() {
+        while (true) {
+            Object s = state;
+            if (s == DONE) {
+                return value;
+            } else if (s == PENDING) {
+                // the action is only ever cleared by publishing the value, in which case we just try again
+                Supplier<T> action = this.action;
+                if (action != null) {
+                    Computation<T> computation = new Computation<>(action);
+                    if (STATE.compareAndSet(this, PENDING, computation)) {
+                        return computeAndPublish(computation);
+                    }
+                }
+            } else {
+                @SuppressWarnings("unchecked")
+                Computation<T> computation = (Computation<T>) s;
+                if (computation.owner == Thread.currentThread() || !WaitGraph.startWaiting(computation.owner)) {
+                    // a recursive call, or the owner of the computation (indirectly) waits for us
+                    return computeUnowned(computation);
+                }
 
-            return value;
+                try {
+                    computation.await();
+                } finally {
+                    WaitGraph.stopWaiting();
+                }
+            }
         }
     }
 
-    public T swap(T newValue) {
-        synchronized (this) {
-            T val = get();
-            this.value = newValue;
-            return val;
+    private T computeAndPublish(Computation<T> computation) {
+        T val;
+        try {
+            val = computation.action.get();
+        } catch (Throwable t) {
+            // let the next caller try again
+            synchronized (computation) {
+                if (state == computation) {
+                    state = PENDING;
+                }
+            }
+            computation.finish();
+            throw t;
+        }
+
+        T ret = publish(computation, val);
+        computation.finish();
+        return ret;
+    }
+
+    private T computeUnowned(Computation<T> computation) {
+        return publish(computation, computation.action.get());
+    }
+
+    private T publish(Computation<T> computation, T val) {
+        synchronized (computation) {
+            // a recursive call or a thread that would otherwise deadlock waiting for the owner might have published the
+            // value already
+            if (state == computation) {
+                value = val;
+                action = null;
+                state = DONE;
+            }
+            return state == DONE ? value : val;
         }
     }
 
@@ -106,7 +184,46 @@ public class MemoizedValue<T> implements Supplier<T> {
 
     @Override
     public String toString() {
-        return "Memoized{" + (obtained ? ("value=" + value) : "<pending>") + "}";
+        return "Memoized{" + (isObtained() ? ("value=" + value) : "<pending>") + "}";
+    }
+
+    private static final class Computation<T> {
+        final Thread owner = Thread.currentThread();
+        final Supplier<T> action;
+        volatile boolean finished;
+        volatile boolean contended;
+
+        Computation(Supplier<T> action) {
+            this.action = action;
+        }
+
+        void await() {
+            contended = true;
+            synchronized (this) {
+                boolean interrupted = false;
+                while (!finished) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void finish() {
+            finished = true;
+            // the waiters always set the contended flag before checking the finished flag, so either they see that
+            // we're finished or we see that someone's waiting
+            if (contended) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
     }
 
     private static final class Debug<T> extends MemoizedValue<T> {
@@ -127,11 +244,9 @@ public class MemoizedValue<T> implements Supplier<T> {
         }
 
         @Override
-        public T swap(T newValue) {
-            synchronized (this) {
-                instantiationLocation.addSuppressed(new Throwable(obtained ? "o" : ""));
-                return super.swap(newValue);
-            }
+        public synchronized T swap(T newValue) {
+            instantiationLocation.addSuppressed(new Throwable(isObtained() ? "o" : ""));
+            return super.swap(newValue);
         }
 
         private static String location(Throwable t, int stackDepth) {
@@ -147,7 +262,7 @@ public class MemoizedValue<T> implements Supplier<T> {
         @Override
         public String toString() {
             StringBuilder sb = new StringBuilder("Memoized{");
-            if (obtained) {
+            if (isObtained()) {
                 sb.append("value=").append(value);
             } else {
                 sb.append("<pending>");
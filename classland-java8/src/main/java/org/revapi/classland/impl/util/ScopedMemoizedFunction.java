@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import static org.revapi.classland.impl.util.MemoizedValue.DEBUG;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A memoized function of a name and a scope, e.g. of an internal name of a type and the module to look the type up
+ * from.
+ *
+ * Unlike {@link MemoizedBiFunction}, the values are stored in a two-level table - a map of names per scope. The already
+ * computed values are therefore looked up without allocating any composite keys and without locking. The scope may be
+ * null. The values are computed the same way as in the other memoized functions, see {@link MemoTable}.
+ */
+public class ScopedMemoizedFunction<S, R> implements BiFunction<String, S, R> {
+    private final @Nullable BiFunction<String, S, R> action;
+    protected final Map<S, MemoTable<String, R>> scopes = new ConcurrentHashMap<>();
+    protected final MemoTable<String, R> nullScope = new MemoTable<>();
+
+    private ScopedMemoizedFunction(@Nullable BiFunction<String, S, R> action) {
+        this.action = action;
+    }
+
+    public static <S, R> ScopedMemoizedFunction<S, R> memoize(BiFunction<String, S, R> action) {
+        if (action instanceof ScopedMemoizedFunction) {
+            return (ScopedMemoizedFunction<S, R>) action;
+        } else if (DEBUG) {
+            return new Debug<>(action);
+        } else {
+            return new ScopedMemoizedFunction<>(action);
+        }
+    }
+
+    @Override
+    public R apply(String name, @Nullable S scope) {
+        return valuesIn(scope).get(name, scope, action);
+    }
+
+    /**
+     * Same as {@link #apply(String, Object)} but uses the provided function to compute the missing value. This is
+     * useful when the caller has some of the intermediate results of the computation at hand. The provided function
+     * must compute the same value as the memoized action would.
+     */
+    public R apply(String name, @Nullable S scope, Function<String, R> computation) {
+        return valuesIn(scope).get(name, computation);
+    }
+
+    private MemoTable<String, R> valuesIn(@Nullable S scope) {
+        MemoTable<String, R> values = scope == null ? nullScope : scopes.get(scope);
+        if (values == null) {
+            values = scopes.computeIfAbsent(scope, __ -> new MemoTable<>());
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "ScopedMemoized{scopes=" + (scopes.size() + (nullScope.size() == 0 ? 0 : 1)) + "}";
+    }
+
+    private static final class Debug<S, R> extends ScopedMemoizedFunction<S, R> {
+        private final Throwable instantiationLocation;
+
+        private Debug(@Nullable BiFunction<String, S, R> action) {
+            super(action);
+            instantiationLocation = new Throwable();
+        }
+
+        @Override
+        public R apply(String name, @Nullable S scope) {
+            try {
+                return super.apply(name, scope);
+            } catch (Exception e) {
+                throw new RuntimeException("Memoized call allocated at " + location() + " failed.", e);
+            }
+        }
+
+        private String location() {
+            StackTraceElement el = instantiationLocation.getStackTrace()[2];
+            return el.getClassName() + "." + el.getMethodName() + "(" + el.getFileName() + ":" + el.getLineNumber()
+                    + ")";
+        }
+
+        @Override
+        public String toString() {
+            return "ScopedMemoizedFunction{scopes=" + scopes.size() + " @ " + location() + "}";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The threads waiting for the memoized computations of other threads. All the memoizing utilities that make a thread
+ * wait for another one announce the wait here, so that a cycle of threads waiting for each other is detected even if it
+ * goes through different kinds of them, e.g. a {@link MemoTable} entry and a {@link MemoizedValue}.
+ */
+final class WaitGraph {
+    private static final Map<Thread, Thread> WAITING = new ConcurrentHashMap<>();
+
+    private WaitGraph() {
+    }
+
+    /**
+     * Announces that the current thread is about to wait for a computation owned by another thread. The announcement
+     * must be withdrawn using {@link #stopWaiting()} once the wait is over.
+     *
+     * @param owner
+     *            the thread owning the computation to wait for
+     *
+     * @return false if waiting would close a cycle of threads waiting for each other. Nothing is announced in that case
+     *         and the caller must not wait.
+     */
+    static boolean startWaiting(Thread owner) {
+        Thread current = Thread.currentThread();
+        // we need to announce that we're waiting before checking for the cycle, so that out of 2 threads about to wait
+        // for each other at least one notices
+        WAITING.put(current, owner);
+        if (waitsFor(owner, current)) {
+            WAITING.remove(current);
+            return false;
+        }
+
+        return true;
+    }
+
+    static void stopWaiting() {
+        WAITING.remove(Thread.currentThread());
+    }
+
+    private static boolean waitsFor(Thread owner, Thread thread) {
+        Thread next = owner;
+        // bounded so that we don't spin forever on a wait graph that is being concurrently modified
+        for (int i = 0; next != null && i < 64; ++i) {
+            if (next == thread) {
+                return true;
+            }
+            next = WAITING.get(next);
+        }
+
+        return false;
+    }
+}
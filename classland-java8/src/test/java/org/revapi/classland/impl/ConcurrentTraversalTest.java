@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.revapi.classland.archive.BaseModule;
+
+/**
+ * Traverses a fresh universe from many threads at once, so that the threads race for the lazy initialization of the
+ * model, and checks that all of them see the same elements.
+ */
+class ConcurrentTraversalTest {
+    private static final int THREADS = 8;
+    private static final String[] PACKAGES = { "java.lang", "java.util", "java.util.concurrent", "java.io" };
+
+    @RepeatedTest(3)
+    void testConcurrentTraversalsSeeTheSameModel() throws Exception {
+        try (TypePool u = new TypePool(false)) {
+            u.registerArchive(BaseModule.forCurrentJvm());
+            ElementsImpl elements = new ElementsImpl(u.getLookup());
+
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<List<Object>>> results = new ArrayList<>(THREADS);
+                for (int i = 0; i < THREADS; ++i) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        List<Object> visited = new ArrayList<>();
+                        for (String pkg : PACKAGES) {
+                            PackageElement p = elements.getPackageElement(pkg);
+                            assertNotNull(p);
+                            read(p, visited);
+                        }
+                        return visited;
+                    }));
+                }
+
+                start.countDown();
+
+                List<Object> expected = results.get(0).get(5, TimeUnit.MINUTES);
+                for (int i = 1; i < THREADS; ++i) {
+                    List<Object> actual = results.get(i).get(5, TimeUnit.MINUTES);
+                    assertEquals(expected.size(), actual.size());
+                    for (int j = 0; j < expected.size(); ++j) {
+                        Object e = expected.get(j);
+                        Object a = actual.get(j);
+                        if (e instanceof Element) {
+                            // the elements are only ever instantiated once
+                            assertSame(e, a);
+                        } else {
+                            assertEquals(e, a);
+                        }
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void read(Element element, List<Object> visited) {
+        visited.add(element);
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            visited.add(a.getAnnotationType().asElement());
+            visited.add(a.getElementValues().size());
+        }
+
+        if (element instanceof TypeElement) {
+            TypeElement type = (TypeElement) element;
+            read(type.getSuperclass(), visited);
+            type.getInterfaces().forEach(i -> read(i, visited));
+        } else if (element instanceof ExecutableElement) {
+            ExecutableElement method = (ExecutableElement) element;
+            read(method.getReturnType(), visited);
+            method.getParameters().forEach(p -> read(p.asType(), visited));
+            method.getThrownTypes().forEach(t -> read(t, visited));
+        } else if (element instanceof VariableElement) {
+            read(element.asType(), visited);
+        }
+
+        for (Element e : element.getEnclosedElements()) {
+            read(e, visited);
+        }
+    }
+
+    private static void read(TypeMirror type, List<Object> visited) {
+        visited.add(type.getKind());
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declared = (DeclaredType) type;
+            visited.add(declared.asElement());
+            declared.getTypeArguments().forEach(a -> read(a, visited));
+        }
+    }
+}
@@ -16,6 +16,14 @@
  */
 package org.revapi.classland.impl;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import static javax.lang.model.util.ElementFilter.constructorsIn;
 import static javax.lang.model.util.ElementFilter.fieldsIn;
 import static javax.lang.model.util.ElementFilter.methodsIn;
 import static javax.lang.model.util.ElementFilter.typesIn;
@@ -24,19 +32,34 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.QualifiedNameable;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.util.ElementFilter;
@@ -45,8 +68,17 @@ import javax.lang.model.util.Elements;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.revapi.classland.archive.Archive;
 import org.revapi.classland.archive.BaseModule;
 import org.revapi.classland.archive.jar.JarFileArchive;
+import org.revapi.classland.archive.memory.MemoryArchive;
+import org.revapi.classland.impl.model.element.MissingTypeImpl;
+import org.revapi.classland.impl.model.element.ModuleElementImpl;
+import org.revapi.classland.impl.model.element.PackageElementImpl;
+import org.revapi.classland.impl.model.element.TypeElementBase;
 import org.revapi.testjars.CompiledJar;
 import org.revapi.testjars.junit5.CompiledJarExtension;
 import org.revapi.testjars.junit5.JarSources;
@@ -58,6 +90,12 @@ class ElementsImplTest {
     @JarSources(root = "/src/impl/", sources = { "packages/a/A.java", "packages/b/B.java" })
     private CompiledJar packages;
 
+    @JarSources(root = "/src/impl/split/first/", sources = "split/First.java")
+    private CompiledJar splitFirst;
+
+    @JarSources(root = "/src/impl/split/second/", sources = "split/Second.java")
+    private CompiledJar splitSecond;
+
     @JarSources(root = "/src/impl/types/orig/", sources = { "types/A.java", "types/B.java", "module-info.java" })
     private CompiledJar typesOrig;
 
@@ -67,12 +105,18 @@ class ElementsImplTest {
     @JarSources(root = "/src/impl/", sources = { "annoattrdefaults/Anno.java", "annoattrdefaults/User.java" })
     private CompiledJar annoAttrDefaults;
 
+    @JarSources(root = "/src/impl/", sources = { "annovalues/Holder.java" })
+    private CompiledJar annoValues;
+
     @JarSources(root = "/src/impl/", sources = { "annoinherited/Tested.java" })
     private CompiledJar annoInherited;
 
     @JarSources(root = "/src/impl/", sources = { "deprecated/DeprecatedClass.java" })
     private CompiledJar deprecated;
 
+    @JarSources(root = "/src/impl/", sources = { "annotatedparams/Params.java" })
+    private CompiledJar annotatedParams;
+
     @JarSources(root = "/src/impl/", sources = { "members/Base.java", "members/Extended.java" })
     private CompiledJar members;
 
@@ -98,6 +142,326 @@ class ElementsImplTest {
         });
     }
 
+    @Test
+    void testGetPackageElement_splitAcrossArchives() throws Exception {
+        TypePool u = classlandOnly(splitFirst, splitSecond);
+
+        Elements els = new ElementsImpl(u.getLookup());
+
+        PackageElement pkg = els.getPackageElement("split");
+        assertNotNull(pkg);
+        assertSame(pkg, u.getLookup().getPackageInModule("split", u.getUnnamedModule()));
+        assertEquals(1, u.getPackagesByName("split").size());
+        assertEquals(2, typesIn(pkg.getEnclosedElements()).size());
+        assertSame(pkg, u.getUnnamedModule().computePackages().get().get("split"));
+    }
+
+    @Test
+    void testGetPackageElement_modules() throws Exception {
+        TypePool u = new TypePool(true);
+        u.registerArchive(new JarFileArchive(new JarFile(typesOrig.jarFile())));
+        u.registerArchive(new JarFileArchive(new JarFile(typesCopy.jarFile())));
+
+        Map<ModuleElementImpl, PackageElementImpl> pkgs = u.getPackagesByName("types");
+        assertEquals(2, pkgs.size());
+        assertSame(u.getModule("orig"), pkgs.values().iterator().next().getModule());
+
+        Elements els = new ElementsImpl(u.getLookup());
+        assertSame(pkgs.get(u.getModule("orig")), els.getPackageElement("types"));
+        assertNull(els.getPackageElement("not.there"));
+    }
+
+    @Test
+    void testRegisterArchivesInParallel() throws Exception {
+        Archive first = new JarFileArchive(new JarFile(typesOrig.jarFile()));
+        Archive duplicate = new JarFileArchive(new JarFile(typesOrig.jarFile()));
+        Archive copy = new JarFileArchive(new JarFile(typesCopy.jarFile()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            TypePool u = new TypePool(true);
+            u.registerArchives(asList(first, duplicate, copy), executor);
+
+            // the order of registration is kept
+            ModuleElementImpl orig = u.getModule("orig");
+            assertNotNull(orig);
+            assertSame(first, orig.getArchive());
+            assertEquals(asList(orig, u.getModule("copy")), new ArrayList<>(u.getPackagesByName("types").keySet()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testGetMissingTypes() throws Exception {
+        TypePool u = classlandOnly(packages);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        assertTrue(els.getMissingTypes().isEmpty());
+
+        TypeElement inMissingPackage = els.getTypeElementByBinaryName("missing.Type");
+        TypeElement inExistingPackage = els.getTypeElementByBinaryName("packages.a.Missing");
+        assertTrue(inMissingPackage instanceof MissingTypeImpl);
+        assertTrue(inExistingPackage instanceof MissingTypeImpl);
+        assertSame(inMissingPackage,
+                u.getLookup().queryTypeByInternalNameFromModule("missing/Type", u.getUnnamedModule()));
+
+        TypeElement a = els.getTypeElementByBinaryName("packages.a.A");
+        assertNotNull(a);
+
+        // the failed lookups of the users are not the dependencies of the archives
+        assertTrue(els.getMissingTypes().isEmpty());
+
+        // the JDK is not registered, so the superclass referenced from the class file is missing
+        a.getSuperclass();
+        assertEquals(singletonMap("java.lang.Object", singleton("")), els.getMissingTypes());
+    }
+
+    @Test
+    void testGetTypeElementsByBinaryName() throws Exception {
+        TypePool u = classlandOnly(packages);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        TypeElement a = els.getTypeElementByBinaryName("packages.a.A");
+
+        Map<String, TypeElement> types = els
+                .getTypeElementsByBinaryName(asList("packages.b.B", "missing.Type", "packages.a.A", "packages.b.B"));
+
+        assertEquals(asList("packages.b.B", "missing.Type", "packages.a.A"), new ArrayList<>(types.keySet()));
+        assertSame(a, types.get("packages.a.A"));
+        assertSame(els.getTypeElementByBinaryName("packages.b.B"), types.get("packages.b.B"));
+        assertTrue(types.get("missing.Type") instanceof MissingTypeImpl);
+        assertSame(els.getTypeElementByBinaryName("missing.Type"), types.get("missing.Type"));
+
+        assertTrue(els.getTypeElementsByBinaryName("unknown.module", singleton("packages.a.A")).isEmpty());
+    }
+
+    @Test
+    void testFindTypes() throws Exception {
+        TypePool u = classlandOnly(packages);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        List<String> found = els.findTypes("packages.a", "*").map(t -> t.getQualifiedName().toString())
+                .collect(toList());
+        assertEquals(singletonList("packages.a.A"), found);
+
+        // only the matching types are instantiated
+        assertTrue(u.getLookup().getPackageInModule("packages.b", u.getUnnamedModule()).getMutableTypes().isEmpty());
+
+        found = els.findTypes("packages.**", "?").map(t -> t.getQualifiedName().toString()).sorted().collect(toList());
+        assertEquals(asList("packages.a.A", "packages.b.B"), found);
+
+        assertEquals(1, els.findTypes(Pattern.compile("packages\\..*"), Pattern.compile("B")).count());
+        assertEquals(0, els.findTypes("packages", "*").count());
+    }
+
+    @Test
+    void testMissingTypesOutsideOfTheModulePackagesAreShared() throws Exception {
+        TypePool u = new TypePool(true);
+        u.registerArchive(new JarFileArchive(new JarFile(typesOrig.jarFile())));
+        u.registerArchive(new JarFileArchive(new JarFile(typesCopy.jarFile())));
+        u.registerArchive(new JarFileArchive(new JarFile(packages.jarFile())));
+
+        TypeLookup lookup = u.getLookup();
+        ModuleElementImpl orig = u.getModule("orig");
+        ModuleElementImpl copy = u.getModule("copy");
+
+        // neither of the modules contains the package, so the type has no enclosing package in either of them
+        TypeElementBase fromOrig = lookup.queryTypeByInternalNameFromModule("packages/a/Missing", orig);
+        assertTrue(fromOrig instanceof MissingTypeImpl);
+        assertSame(fromOrig, lookup.queryTypeByInternalNameFromModule("packages/a/Missing", copy));
+
+        // the unnamed module contains the package, which encloses the missing type
+        TypeElementBase fromUnnamed = lookup.queryTypeByInternalNameFromModule("packages/a/Missing",
+                u.getUnnamedModule());
+        assertTrue(fromUnnamed instanceof MissingTypeImpl);
+        assertSame(lookup.getPackageInModule("packages.a", u.getUnnamedModule()), fromUnnamed.getEnclosingElement());
+    }
+
+    @Test
+    void testSubtypes() throws Exception {
+        TypePool u = classlandOnly(overrides);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        TypeElement base = els.getTypeElement("overrides.OverrideTest.Base");
+        TypeElement iface = els.getTypeElement("overrides.OverrideTest.Iface");
+        TypeElement overrider = els.getTypeElement("overrides.OverrideTest.Overrider");
+
+        assertEquals(singletonList(overrider), els.getDirectSubtypes(base).collect(toList()));
+        assertEquals(singletonList(overrider), els.getDirectSubtypes(iface).collect(toList()));
+        assertEquals(0, els.getDirectSubtypes(overrider).count());
+
+        // the interfaces are not subtypes of Object, Overrider is reached through Base
+        TypeElement object = u.getLookup().getTypeByInternalNameFromModule("java/lang/Object", u.getUnnamedModule());
+        List<String> all = els.getAllSubtypes(object).map(t -> t.getQualifiedName().toString()).sorted()
+                .collect(toList());
+        assertEquals(
+                asList("overrides.OverrideTest", "overrides.OverrideTest.Base", "overrides.OverrideTest.Overrider"),
+                all);
+    }
+
+    @Test
+    void testSubtypesDoNotReportMissingTypes() throws Exception {
+        TypePool u = new TypePool(true);
+        u.registerArchive(new JarFileArchive(new JarFile(typesOrig.jarFile())));
+        u.registerArchive(new JarFileArchive(new JarFile(packages.jarFile())));
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        // the "orig" module doesn't see the type, which must not make it look missing
+        TypeElement a = els.getTypeElement("packages.a.A");
+        assertNotNull(a);
+        assertEquals(0, els.getDirectSubtypes(a).count());
+        assertTrue(els.getMissingTypes().isEmpty());
+    }
+
+    @Test
+    void testCyclicHierarchy() throws Exception {
+        // such class files cannot be compiled, but can come from incompatible versions of libraries
+        byte[] jar = jarOf(classWithField("cyclic/A", "cyclic/B", "a"), classWithField("cyclic/B", "cyclic/A", "b"));
+        TypePool u = classlandOnly(new MemoryArchive(new ByteArrayInputStream(jar)));
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        TypeElementBase a = (TypeElementBase) els.getTypeElement("cyclic.A");
+        TypeElementBase b = (TypeElementBase) els.getTypeElement("cyclic.B");
+
+        assertTrue(a.getSupertypeClosure().hasSupertype(b));
+        assertTrue(b.getSupertypeClosure().hasSupertype(a));
+
+        List<String> fields = fieldsIn(els.getAllMembers(a)).stream().map(f -> f.getSimpleName().toString()).sorted()
+                .collect(toList());
+        assertEquals(asList("a", "b"), fields);
+    }
+
+    @Test
+    void testGetElementsAnnotatedWith() throws Exception {
+        TypePool u = classlandOnly(deprecated, annoAttrDefaults);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        // the parameter names are not compiled in, so the parameter is identified by its method
+        List<String> found = els.getElementsAnnotatedWith("java.lang.Deprecated")
+                .map(e -> e.getKind() + " "
+                        + (e.getKind() == ElementKind.PARAMETER ? e.getEnclosingElement() : e).getSimpleName())
+                .sorted().collect(toList());
+        assertEquals(asList("CLASS DeprecatedClass", "FIELD deprecatedField", "METHOD deprecatedMethod",
+                "PARAMETER deprecatedParameter"), found);
+
+        List<? extends Element> users = els.getElementsAnnotatedWith("annoattrdefaults.Anno").collect(toList());
+        assertEquals(singletonList(els.getTypeElement("annoattrdefaults.User")), users);
+
+        assertEquals(0, els.getElementsAnnotatedWith("java.lang.FunctionalInterface").count());
+    }
+
+    @Test
+    void testGetElementsAnnotatedWithSyntheticParameters() throws Exception {
+        TypePool u = classlandOnly(annotatedParams);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        ExecutableElement innerCtor = constructorsIn(
+                els.getTypeElement("annotatedparams.Params.Inner").getEnclosedElements()).get(0);
+        ExecutableElement enumCtor = constructorsIn(
+                els.getTypeElement("annotatedparams.Params.Kind").getEnclosedElements()).get(0);
+
+        Set<Element> found = els.getElementsAnnotatedWith("annotatedparams.Params$Marked").collect(toSet());
+        assertEquals(new HashSet<>(asList(innerCtor.getParameters().get(1), enumCtor.getParameters().get(0))), found);
+    }
+
+    @Test
+    void testIsAnnotatedWith() throws Exception {
+        // the meta-annotations come from the JDK
+        TypePool u = classlandOnly(annoInherited);
+        u.registerArchive(BaseModule.forCurrentJvm());
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        TypeElement Base = els.getTypeElement("annoinherited.Tested.Base");
+        TypeElement InheritFromBase = els.getTypeElement("annoinherited.Tested.InheritFromBase");
+
+        assertTrue(els.isAnnotatedWith(Base, "annoinherited.Tested$Inheritable"));
+        assertTrue(els.isAnnotatedWith(Base, "annoinherited.Tested$NonInheritable"));
+        assertFalse(els.isAnnotatedWith(InheritFromBase, "annoinherited.Tested$Inheritable"));
+        assertFalse(els.isAnnotatedWith(Base, "java.lang.annotation.Inherited"));
+
+        assertTrue(els.isMetaAnnotatedWith(Base, "java.lang.annotation.Inherited"));
+        // through @Inherited, which is annotated with @Documented
+        assertTrue(els.isMetaAnnotatedWith(Base, "java.lang.annotation.Documented"));
+        assertFalse(els.isMetaAnnotatedWith(InheritFromBase, "java.lang.annotation.Inherited"));
+        assertFalse(els.isMetaAnnotatedWith(Base, "java.lang.FunctionalInterface"));
+    }
+
+    @Test
+    void testAnnotationValuesDecodedLazily() throws Exception {
+        TypePool u = classlandOnly(annoValues);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        TypeElement annotated = els.getTypeElement("annovalues.Holder.Annotated");
+        AnnotationMirror refs = annotated.getAnnotationMirrors().get(0);
+        AnnotationValue value = refs.getElementValues().values().iterator().next();
+        assertTrue(u.getLookup().getMissingTypes().isEmpty());
+
+        @SuppressWarnings("unchecked")
+        List<? extends AnnotationValue> classes = (List<? extends AnnotationValue>) value.getValue();
+        assertEquals(3, classes.size());
+        assertTrue(u.getLookup().getMissingTypes().isEmpty());
+
+        Object list = classes.get(0).getValue();
+        assertEquals(singleton("java/util/List"), u.getLookup().getMissingTypes().keySet());
+        assertSame(list, classes.get(2).getValue());
+
+        assertEquals("java.util.Map", classes.get(1).getValue().toString());
+    }
+
+    @Test
+    void testStreamElements() throws Exception {
+        TypePool u = classlandOnly(packages, splitFirst, splitSecond);
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+
+        List<Element> expected = new ArrayList<>();
+        walkSorted(u.getUnnamedModule(), expected);
+
+        assertEquals(expected, els.streamElements(true).collect(toList()));
+        assertEquals(expected, els.streamElements(true).parallel().collect(toList()));
+
+        List<Element> unordered = els.streamElements(false).parallel().collect(toList());
+        assertEquals(expected.size(), unordered.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(unordered));
+    }
+
+    @Test
+    void testModulesRegisteredLaterAreSeen() throws Exception {
+        TypePool u = new TypePool(true);
+        u.registerArchive(new JarFileArchive(new JarFile(typesOrig.jarFile())));
+
+        ElementsImpl els = new ElementsImpl(u.getLookup());
+        assertFalse(els.streamElements(false).anyMatch(e -> e instanceof ModuleElementImpl
+                && ((ModuleElementImpl) e).getQualifiedName().contentEquals("copy")));
+
+        u.registerArchive(new JarFileArchive(new JarFile(typesCopy.jarFile())));
+
+        ModuleElementImpl copy = u.getModule("copy");
+        assertNotNull(copy);
+        assertTrue(els.streamElements(false).anyMatch(e -> e == copy));
+        assertTrue(u.getLookup().getModules().contains(copy));
+    }
+
+    private static void walkSorted(Element element, List<Element> elements) {
+        elements.add(element);
+        List<Element> children = new ArrayList<>(element.getEnclosedElements());
+        if (element.getKind() == ElementKind.PACKAGE || element instanceof ModuleElementImpl) {
+            children.sort(Comparator.comparing(e -> ((QualifiedNameable) e).getQualifiedName().toString()));
+        }
+        children.forEach(e -> walkSorted(e, elements));
+    }
+
     @Test
     void testGetTypeElement_noModules() throws Exception {
         doTest(typesOrig, els -> {
@@ -474,6 +838,30 @@ class ElementsImplTest {
         });
     }
 
+    @Test
+    void testGetAllMembers_overridden() throws Exception {
+        doTest(overrides, els -> {
+            TypeElement Base = els.getTypeElement("overrides.OverrideTest.Base");
+            TypeElement Overrider = els.getTypeElement("overrides.OverrideTest.Overrider");
+            TypeElement Iface = els.getTypeElement("overrides.OverrideTest.Iface");
+
+            List<? extends ExecutableElement> members = methodsIn(els.getAllMembers(Overrider));
+
+            for (ExecutableElement m : methodsIn(Base.getEnclosedElements())) {
+                boolean overridden = !"nonOverridingMethod".contentEquals(m.getSimpleName())
+                        && !"interfaceMethod".contentEquals(m.getSimpleName());
+                assertEquals(!overridden, members.contains(m), m.toString());
+            }
+
+            for (ExecutableElement m : methodsIn(Overrider.getEnclosedElements())) {
+                assertTrue(members.contains(m), m.toString());
+            }
+
+            // Base doesn't implement Iface, so its method doesn't override the interface method from Base
+            assertTrue(members.contains(methodsIn(Iface.getEnclosedElements()).get(0)));
+        });
+    }
+
     @Test
     void testGetConstantExpression() {
         // TODO implement
@@ -490,8 +878,21 @@ class ElementsImplTest {
     }
 
     @Test
-    void testIsFunctionalInterface() {
-        // TODO implement
+    void testIsFunctionalInterface() throws Exception {
+        doTest(overrides, els -> {
+            assertTrue(els.isFunctionalInterface(els.getTypeElement("overrides.OverrideTest.Iface")));
+            assertFalse(els.isFunctionalInterface(els.getTypeElement("overrides.OverrideTest.Base")));
+            assertTrue(els.isFunctionalInterface(els.getTypeElement("java.lang.Runnable")));
+            // declares equals(Object), too
+            assertTrue(els.isFunctionalInterface(els.getTypeElement("java.util.Comparator")));
+            assertTrue(els.isFunctionalInterface(els.getTypeElement("java.util.function.UnaryOperator")));
+            assertFalse(els.isFunctionalInterface(els.getTypeElement("java.util.List")));
+            assertFalse(els.isFunctionalInterface(els.getTypeElement("java.lang.annotation.Retention")));
+            assertFalse(els.isFunctionalInterface(els.getTypeElement("java.io.Serializable")));
+            // refines the method of the generic superinterface
+            assertTrue(els.isFunctionalInterface(els.getTypeElement("overrides.OverrideTest.StringFunction")));
+            assertFalse(els.isFunctionalInterface(els.getTypeElement("overrides.OverrideTest.TwoFunctions")));
+        });
     }
 
     private Optional<? extends AnnotationValue> getAttributeValue(
@@ -504,6 +905,45 @@ class ElementsImplTest {
         return elements.stream().filter(e -> e.getSimpleName().contentEquals(simpleName)).findFirst();
     }
 
+    private static byte[] classWithField(String internalName, String superName, String fieldName) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, internalName, null, superName, null);
+        writer.visitField(Opcodes.ACC_PUBLIC, fieldName, "I", null, null).visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static byte[] jarOf(byte[]... classes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (byte[] cls : classes) {
+                zip.putNextEntry(new ZipEntry(new ClassReader(cls).getClassName() + ".class"));
+                zip.write(cls);
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return a pool of just the provided jars, without the JDK, for the tests that only check classland
+     */
+    private static TypePool classlandOnly(CompiledJar... jars) throws IOException {
+        Archive[] archives = new Archive[jars.length];
+        for (int i = 0; i < jars.length; ++i) {
+            archives[i] = new JarFileArchive(new JarFile(jars[i].jarFile()));
+        }
+        return classlandOnly(archives);
+    }
+
+    private static TypePool classlandOnly(Archive... archives) {
+        TypePool u = new TypePool(false);
+        for (Archive archive : archives) {
+            u.registerArchive(archive);
+        }
+        return u;
+    }
+
     private static void doTest(CompiledJar testJar, Consumer<Elements> test) throws Exception {
         TypePool u = new TypePool(false);
         u.registerArchive(BaseModule.forCurrentJvm());
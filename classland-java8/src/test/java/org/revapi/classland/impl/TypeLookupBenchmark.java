@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.revapi.classland.archive.BaseModule;
+import org.revapi.classland.impl.model.element.PackageElementImpl;
+import org.revapi.classland.impl.model.element.TypeElementImpl;
+
+/**
+ * Looks up all the types of the current JVM by their internal names. Run with the gc profiler (-prof gc) to see the
+ * allocation rate of the type lookups.
+ */
+public class TypeLookupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Universe {
+        TypePool pool;
+        List<String> internalNames;
+
+        @Setup
+        public void setup() throws Exception {
+            pool = new TypePool(false);
+            pool.registerArchive(BaseModule.forCurrentJvm());
+
+            internalNames = new ArrayList<>();
+            for (PackageElementImpl pkg : pool.getUnnamedModule().computePackages().get().values()) {
+                for (TypeElementImpl t : pkg.computeTypes().get()) {
+                    internalNames.add(t.getInternalName());
+                }
+            }
+        }
+
+        @TearDown
+        public void teardown() throws Exception {
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public void lookupAllTypes(Universe universe, Blackhole hole) {
+        TypeLookup lookup = universe.pool.getLookup();
+        for (String name : universe.internalNames) {
+            hole.consume(lookup.getTypeByInternalNameFromModule(name, null));
+        }
+    }
+}
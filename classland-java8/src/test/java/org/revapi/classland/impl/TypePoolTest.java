@@ -21,8 +21,12 @@ import java.util.jar.JarFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.revapi.classland.archive.Archive;
+import org.revapi.classland.archive.BaseModule;
 import org.revapi.classland.archive.jar.JarFileArchive;
 import org.revapi.classland.impl.model.element.ModuleElementImpl;
+import org.revapi.classland.impl.model.element.PackageElementImpl;
+import org.revapi.classland.impl.model.element.TypeElementBase;
+import org.revapi.classland.impl.model.element.TypeElementImpl;
 
 public class TypePoolTest {
 
@@ -42,4 +46,21 @@ public class TypePoolTest {
         }
     }
 
+    @Test
+    void testTypeLookupInstantiatesOnlyTheRequestedType() throws Exception {
+        try (TypePool tp = new TypePool(false)) {
+            tp.registerArchive(BaseModule.forCurrentJvm());
+
+            TypeElementBase string = tp.getLookup().getTypeByInternalNameFromModule("java/lang/String", null);
+            Assertions.assertTrue(string instanceof TypeElementImpl);
+
+            PackageElementImpl javaLang = tp.getLookup().getPackageInModule("java.lang", tp.getUnnamedModule());
+            Assertions.assertNotNull(javaLang);
+            Assertions.assertEquals(1, javaLang.getMutableTypes().size());
+
+            // enumeration needs to see the already instantiated type
+            Assertions.assertTrue(javaLang.computeTypes().get().stream().anyMatch(t -> t == string));
+        }
+    }
+
 }
@@ -19,6 +19,7 @@ package org.revapi.classland.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -196,6 +197,28 @@ public class TypesImplTest {
         assertTrue(types.isSubtype(object, object));
     }
 
+    @ParameterizedTest
+    @MethodSource("elementsAndTypes")
+    void testIsSubtype_nonGenericAndRawSupertypes(Elements els, Types types) {
+        TypeMirror string = els.getTypeElement("java.lang.String").asType();
+        TypeMirror runnable = els.getTypeElement("java.lang.Runnable").asType();
+        TypeMirror arrayList = els.getTypeElement("java.util.ArrayList").asType();
+        TypeMirror rawCollection = types.erasure(els.getTypeElement("java.util.Collection").asType());
+        TypeMirror rawMap = types.erasure(els.getTypeElement("java.util.Map").asType());
+
+        assertTrue(types.isSubtype(string, els.getTypeElement("java.lang.CharSequence").asType()));
+        assertTrue(types.isSubtype(runnable, els.getTypeElement("java.lang.Object").asType()));
+        assertTrue(types.isSubtype(arrayList, rawCollection));
+        assertTrue(types.isSubtype(types.erasure(arrayList), rawCollection));
+        assertTrue(types.isSubtype(arrayList, els.getTypeElement("java.util.RandomAccess").asType()));
+        assertTrue(types.isSubtype(els.getTypeElement("java.lang.IllegalStateException").asType(),
+                els.getTypeElement("java.lang.Exception").asType()));
+        assertFalse(types.isSubtype(arrayList, rawMap));
+        assertFalse(types.isSubtype(els.getTypeElement("java.lang.Exception").asType(),
+                els.getTypeElement("java.lang.RuntimeException").asType()));
+        assertFalse(types.isSubtype(els.getTypeElement("java.lang.Object").asType(), runnable));
+    }
+
     @Test
     @Disabled
     void testIsSubtype_intersectionIsSubtypeIfAllComponentsAre(Elements els, Types types) {
@@ -392,4 +415,23 @@ public class TypesImplTest {
         ExecutableType convertedCompareTo = (ExecutableType) converted;
         assertEquals(targetType, convertedCompareTo.getParameterTypes().get(0));
     }
+
+    @Test
+    void testAsMemberOf_cached() {
+        Elements els = (Elements) classLandElementsAndTypes.get()[0];
+        Types ts = (Types) classLandElementsAndTypes.get()[1];
+
+        TypeElement Enum = els.getTypeElement("java.lang.Enum");
+        TypeElement TextStyle = els.getTypeElement("java.time.format.TextStyle");
+        TypeElement ChronoUnit = els.getTypeElement("java.time.temporal.ChronoUnit");
+        ExecutableElement compareTo = ElementFilter.methodsIn(Enum.getEnclosedElements()).stream()
+                .filter(m -> "compareTo".contentEquals(m.getSimpleName())).findFirst().get();
+
+        TypeMirror first = ts.asMemberOf((DeclaredType) TextStyle.asType(), compareTo);
+        assertSame(first, ts.asMemberOf((DeclaredType) TextStyle.asType(), compareTo));
+
+        ExecutableType other = (ExecutableType) ts.asMemberOf((DeclaredType) ChronoUnit.asType(), compareTo);
+        assertNotSame(first, other);
+        assertTrue(ts.isSameType(ChronoUnit.asType(), other.getParameterTypes().get(0)));
+    }
 }
@@ -16,8 +16,11 @@
  */
 package org.revapi.classland.impl.model.element;
 
+import static java.util.Collections.emptyList;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -28,6 +31,7 @@ import java.util.jar.JarFile;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.util.ElementFilter;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -339,5 +343,53 @@ class AnnotationDeclarationsTest {
         assertEquals(2, bEntry.getValue().getValue());
     }
 
+    @Test
+    void onWildcardAndItsBound() throws Exception {
+        TypeElementImpl AnnotatedWildcard = (TypeElementImpl) tl
+                .getTypeByInternalNameFromModule("pkg/Annotations$AnnotatedWildcard", null);
+        ExecutableElementImpl method = AnnotatedWildcard.getMethod("method", "(Ljava/util/List;)V");
+        assertNotNull(method);
+
+        WildcardTypeImpl wildcard = (WildcardTypeImpl) ((DeclaredTypeImpl) method.getParameters().get(0).asType())
+                .getTypeArguments().get(0);
+        assertEquals(1, wildcard.getAnnotationMirrors().size());
+        assertSame(VisibleTypeAnno, wildcard.getAnnotationMirrors().get(0).getAnnotationType().asElement());
+
+        TypeMirrorImpl bound = wildcard.getExtendsBound();
+        assertEquals(1, bound.getAnnotationMirrors().size());
+        assertSame(InvisibleTypeAnno, bound.getAnnotationMirrors().get(0).getAnnotationType().asElement());
+    }
+
     // TODO shamelessly copy the comprehensive type annotation handling test from Jandex.
+
+    @Test
+    void unannotatedTypesAreCanonical() throws Exception {
+        TypeElementImpl AnnotatedMethod = (TypeElementImpl) tl
+                .getTypeByInternalNameFromModule("pkg/Annotations$AnnotatedMethod", null);
+        TypeElementImpl AnnotatedField = (TypeElementImpl) tl
+                .getTypeByInternalNameFromModule("pkg/Annotations$AnnotatedField", null);
+        TypeElementImpl AnnotatedReceiverType = (TypeElementImpl) tl
+                .getTypeByInternalNameFromModule("pkg/Annotations$AnnotatedReceiverType", null);
+
+        assertSame(AnnotatedMethod.getSuperclass(), AnnotatedField.getSuperclass());
+        assertSame(tl.canonicalTypes.noType(), ((DeclaredTypeImpl) AnnotatedMethod.getSuperclass()).getEnclosingType());
+
+        ExecutableElementImpl method = AnnotatedReceiverType.getMethod("method", "(D)V");
+        assertNotNull(method);
+        assertSame(tl.canonicalTypes.voidType(), method.getReturnType());
+        assertSame(tl.canonicalTypes.primitive(TypeKind.DOUBLE), method.getParameters().get(0).asType());
+
+        TypeElementImpl AnnotatedMethodParameterTypeVariable = (TypeElementImpl) tl
+                .getTypeByInternalNameFromModule("pkg/Annotations$AnnotatedMethodParameterTypeVariable", null);
+        method = AnnotatedMethodParameterTypeVariable.getMethod("method", "(Ljava/util/Set;)V");
+        assertNotNull(method);
+
+        TypeMirrorImpl annotatedString = ((DeclaredTypeImpl) method.getParameters().get(0).asType()).getTypeArguments()
+                .get(0);
+        DeclaredTypeImpl string = tl.canonicalTypes
+                .declared(tl.getTypeByInternalNameFromModule("java/lang/String", null), null, emptyList());
+        assertNotSame(string, annotatedString);
+        assertEquals(1, annotatedString.getAnnotationMirrors().size());
+        assertSame(InvisibleTypeAnno, annotatedString.getAnnotationMirrors().get(0).getAnnotationType().asElement());
+    }
 }
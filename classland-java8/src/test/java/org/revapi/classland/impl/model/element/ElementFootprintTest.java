@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.model.element;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.revapi.classland.archive.BaseModule;
+import org.revapi.classland.impl.TypePool;
+import org.revapi.classland.impl.util.MemoizedValue;
+
+/**
+ * Checks the memory needed for the lazily computed state of the type and executable elements. The sizes are measured as
+ * the bytes allocated by the constructors for the types of the {@code java.util} package and their methods. The
+ * elements used to store their state in one memoized value (plus its lambda) per property instead of the single array
+ * of slots. Their former sizes were measured the same way before the change, on a 64-bit HotSpot JVM 17 with the
+ * default object layout, which is why the test only runs with compressed oops.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ElementFootprintTest {
+    private static final long FORMER_TYPE_ELEMENT_SIZE = 1336;
+    private static final long FORMER_EXECUTABLE_ELEMENT_SIZE = 918;
+
+    private TypePool pool;
+    private PackageElementImpl pkg;
+    private List<ClassNode> nodes;
+    private LongSupplier allocatedBytes;
+
+    @BeforeAll
+    void setup() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled());
+        com.sun.management.HotSpotDiagnosticMXBean diagnostics = ManagementFactory
+                .getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+        assumeTrue(diagnostics != null && "true".equals(diagnostics.getVMOption("UseCompressedOops").getValue()));
+        long threadId = Thread.currentThread().getId();
+        allocatedBytes = () -> mx.getThreadAllocatedBytes(threadId);
+
+        pool = new TypePool(false);
+        pool.registerArchive(BaseModule.forCurrentJvm());
+        pkg = pool.getLookup().getPackageInModule("java.util", pool.getUnnamedModule());
+        nodes = new ArrayList<>();
+        for (TypeElementImpl t : pkg.computeTypes().get()) {
+            nodes.add(t.getNode().get());
+        }
+    }
+
+    @AfterAll
+    void teardown() throws Exception {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testTypeElementFootprint() {
+        long perType = minOf(() -> {
+            List<Object> keep = new ArrayList<>(nodes.size());
+            long start = allocatedBytes.getAsLong();
+            for (ClassNode n : nodes) {
+                keep.add(new TypeElementImpl(pool.getLookup(), null, n.name, MemoizedValue.obtained(n), pkg));
+            }
+            return (allocatedBytes.getAsLong() - start) / nodes.size();
+        });
+
+        assertTrue(2 * perType < FORMER_TYPE_ELEMENT_SIZE, "A type element allocates " + perType
+                + " bytes, which is not less than half of its former size, " + FORMER_TYPE_ELEMENT_SIZE + " bytes.");
+    }
+
+    @Test
+    void testExecutableElementFootprint() {
+        TypeElementImpl type = new TypeElementImpl(pool.getLookup(), null, nodes.get(0).name,
+                MemoizedValue.obtained(nodes.get(0)), pkg);
+        List<MethodNode> methods = new ArrayList<>();
+        for (ClassNode n : nodes) {
+            methods.addAll(n.methods);
+        }
+
+        long perMethod = minOf(() -> {
+            List<Object> keep = new ArrayList<>(methods.size());
+            long start = allocatedBytes.getAsLong();
+            for (MethodNode m : methods) {
+                keep.add(new ExecutableElementImpl(pool.getLookup(), type, m));
+            }
+            return (allocatedBytes.getAsLong() - start) / methods.size();
+        });
+
+        assertTrue(2 * perMethod < FORMER_EXECUTABLE_ELEMENT_SIZE,
+                "An executable element allocates " + perMethod
+                        + " bytes, which is not less than half of its former size, " + FORMER_EXECUTABLE_ELEMENT_SIZE
+                        + " bytes.");
+    }
+
+    private static long minOf(Supplier<Long> measurement) {
+        long min = Long.MAX_VALUE;
+        // the first runs can be skewed by class loading
+        for (int i = 0; i < 5; ++i) {
+            min = Math.min(min, measurement.get());
+        }
+        return min;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedMemoizedFunctionTest {
+
+    @Test
+    void testSizeIsBounded() {
+        BoundedMemoizedFunction<Integer, String> f = BoundedMemoizedFunction.memoize(10, String::valueOf);
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(String.valueOf(i), f.apply(i));
+        }
+
+        assertEquals(10, f.size());
+    }
+
+    @Test
+    void testValuesAreMemoized() {
+        BoundedMemoizedFunction<Integer, Object> f = BoundedMemoizedFunction.memoize(10, __ -> new Object());
+
+        assertSame(f.apply(1), f.apply(1));
+    }
+
+    @Test
+    void testFrequentlyUsedValuesSurviveScans() {
+        AtomicInteger computations = new AtomicInteger();
+        BoundedMemoizedFunction<Integer, String> f = BoundedMemoizedFunction.memoize(10, i -> {
+            computations.incrementAndGet();
+            return String.valueOf(i);
+        });
+
+        for (int round = 0; round < 100; ++round) {
+            // the popular values
+            for (int i = 0; i < 5; ++i) {
+                f.apply(i);
+            }
+
+            // a one-off value that is never asked for again
+            f.apply(1000 + round);
+        }
+
+        // 5 popular values computed once + 100 one-off values
+        assertEquals(105, computations.get());
+    }
+
+    @Test
+    void testNullIsNotMemoized() {
+        AtomicInteger computations = new AtomicInteger();
+        BoundedMemoizedFunction<Integer, String> f = BoundedMemoizedFunction.memoize(10, __ -> {
+            computations.incrementAndGet();
+            return null;
+        });
+
+        assertNull(f.apply(1));
+        assertNull(f.apply(1));
+        assertEquals(2, computations.get());
+        assertEquals(0, f.size());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class GlobsTest {
+
+    @Test
+    void testSingleStar() {
+        Pattern p = Globs.toPattern("com.*.api");
+        assertTrue(p.matcher("com.acme.api").matches());
+        assertFalse(p.matcher("com.acme.impl.api").matches());
+        assertFalse(p.matcher("com.api").matches());
+    }
+
+    @Test
+    void testDoubleStar() {
+        Pattern p = Globs.toPattern("com.**.api");
+        assertTrue(p.matcher("com.acme.api").matches());
+        assertTrue(p.matcher("com.acme.impl.api").matches());
+    }
+
+    @Test
+    void testTrailingDoubleStarMatchesPrefix() {
+        Pattern p = Globs.toPattern("com.acme.**");
+        assertTrue(p.matcher("com.acme").matches());
+        assertTrue(p.matcher("com.acme.api").matches());
+        assertTrue(p.matcher("com.acme.api.impl").matches());
+        assertFalse(p.matcher("com.acmeinc").matches());
+    }
+
+    @Test
+    void testQuestionMarkAndSpecialCharacters() {
+        Pattern p = Globs.toPattern("*$Inner?");
+        assertTrue(p.matcher("Outer$Inner1").matches());
+        assertFalse(p.matcher("Outer$Inner").matches());
+        assertFalse(p.matcher("OuterInner1").matches());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class MemoTableTest {
+
+    @Test
+    void testRecursiveLookupOfOtherKeys() {
+        MemoTable<Integer, Long> table = new MemoTable<>();
+        Function<Integer, Long> factorial = new Function<Integer, Long>() {
+            @Override
+            public Long apply(Integer n) {
+                return n <= 1 ? 1L : n * table.get(n - 1, this);
+            }
+        };
+
+        assertEquals(3628800L, table.get(10, factorial));
+        assertEquals(10, table.size());
+    }
+
+    @Test
+    void testSelfCycleIsReported() {
+        MemoTable<String, String> table = new MemoTable<>();
+        Function<String, String> cyclic = new Function<String, String>() {
+            @Override
+            public String apply(String key) {
+                return table.get(key, this);
+            }
+        };
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> table.get("a", cyclic));
+        assertTrue(e.getMessage().contains("'a'"));
+
+        // the failed computation doesn't leave anything behind
+        assertEquals("b", table.get("a", __ -> "b"));
+    }
+
+    @Test
+    void testNullIsNotMemoized() {
+        MemoTable<String, String> table = new MemoTable<>();
+
+        assertNull(table.get("a", __ -> null));
+        assertEquals("b", table.get("a", __ -> "b"));
+        assertEquals("b", table.get("a", __ -> null));
+    }
+
+    @Test
+    void testUnrelatedKeysDoNotBlock() throws Exception {
+        MemoTable<String, String> table = new MemoTable<>();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> table.get("slow", k -> {
+                computing.countDown();
+                await(release);
+                return k;
+            }));
+
+            computing.await();
+            assertEquals("fast", table.get("fast", k -> k));
+
+            release.countDown();
+            assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testThreadsWaitingForEachOtherDoNotDeadlock() throws Exception {
+        MemoTable<String, String> table = new MemoTable<>();
+        CountDownLatch bothComputing = new CountDownLatch(2);
+
+        Function<String, String> dependsOnTheOther = new Function<String, String>() {
+            @Override
+            public String apply(String key) {
+                bothComputing.countDown();
+                await(bothComputing);
+                String other = "a".equals(key) ? "b" : "a";
+                return key + (other.equals(table.get(other, k -> k)) ? "" : "?");
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> a = executor.submit(() -> table.get("a", dependsOnTheOther));
+            Future<String> b = executor.submit(() -> table.get("b", dependsOnTheOther));
+
+            assertEquals("a", a.get(10, TimeUnit.SECONDS));
+            assertEquals("b", b.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testValueComputedToBreakDeadlockIsShared() throws Exception {
+        MemoTable<String, Object> table = new MemoTable<>();
+        CountDownLatch bothComputing = new CountDownLatch(2);
+        Map<String, Object> seenByTheOther = new ConcurrentHashMap<>();
+
+        Function<String, Object> dependsOnTheOther = key -> {
+            bothComputing.countDown();
+            await(bothComputing);
+            String other = "a".equals(key) ? "b" : "a";
+            seenByTheOther.put(other, table.get(other, k -> new Object()));
+            return new Object();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> a = executor.submit(() -> table.get("a", dependsOnTheOther));
+            Future<Object> b = executor.submit(() -> table.get("b", dependsOnTheOther));
+
+            Object aValue = a.get(10, TimeUnit.SECONDS);
+            Object bValue = b.get(10, TimeUnit.SECONDS);
+
+            assertSame(aValue, seenByTheOther.get("a"));
+            assertSame(bValue, seenByTheOther.get("b"));
+            assertSame(aValue, table.get("a", k -> new Object()));
+            assertSame(bValue, table.get("b", k -> new Object()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.revapi.classland.impl.util;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
 public class MemoizedBenchmark {
@@ -29,6 +30,58 @@ public class MemoizedBenchmark {
         MemoizedValue<Double> noWork = MemoizedValue.memoize(MemoizedBenchmark::noWork);
     }
 
+    @State(Scope.Thread)
+    public static class NamedLookupHolder {
+        final String[] names = new String[1000];
+        final Object[] scopes = { new Object(), new Object(), null };
+        final MemoizedBiFunction<String, Object, String> pairKeyed = MemoizedBiFunction.memoize((n, s) -> n);
+        final ScopedMemoizedFunction<Object, String> scoped = ScopedMemoizedFunction.memoize((n, s) -> n);
+
+        {
+            for (int i = 0; i < names.length; ++i) {
+                names[i] = "pkg/Type" + i;
+            }
+        }
+    }
+
+    // these two are meant to be compared using the gc profiler (-prof gc) to see the allocation rate on cache hits
+    @Benchmark
+    public void pairKeyedLookups(NamedLookupHolder state, Blackhole blackhole) {
+        for (Object scope : state.scopes) {
+            for (String name : state.names) {
+                blackhole.consume(state.pairKeyed.apply(name, scope));
+            }
+        }
+    }
+
+    @Benchmark
+    public void scopedLookups(NamedLookupHolder state, Blackhole blackhole) {
+        for (Object scope : state.scopes) {
+            for (String name : state.names) {
+                blackhole.consume(state.scoped.apply(name, scope));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedMemoizedPayloadHolder {
+        MemoizedValue<Double> noWork = MemoizedValue.memoize(MemoizedBenchmark::noWork);
+    }
+
+    // the contention cases compare reads of a single shared value with the first computations of fresh values, which
+    // is what happens when several threads traverse the same types
+    @Benchmark
+    @Threads(4)
+    public void contendedMemoizedNoWork(SharedMemoizedPayloadHolder state, Blackhole blackhole) {
+        blackhole.consume(state.noWork.get());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contendedFirstComputation(Blackhole blackhole) {
+        blackhole.consume(MemoizedValue.memoize(MemoizedBenchmark::noWork).get());
+    }
+
     @Benchmark
     public void work(Blackhole blackhole) {
         blackhole.consume(work());
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.jupiter.api.Test;
+
+class MemoizedSlotsTest {
+
+    @Test
+    void testOnceSlotIsComputedOnceUnderContention() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MemoizedSlots<Object> slots = new MemoizedSlots<>();
+        MemoizedSlots.Slot<Object, Object> slot = slots.onceSlot(__ -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new Object();
+        });
+        Object owner = new Object();
+        AtomicReferenceArray<Object> values = slots.newValues();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            results.add(executor.submit(() -> slot.get(owner, values)));
+            started.await();
+            for (int i = 0; i < 7; ++i) {
+                results.add(executor.submit(() -> slot.get(owner, values)));
+            }
+            release.countDown();
+
+            Object expected = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Object> f : results) {
+                assertSame(expected, f.get(10, TimeUnit.SECONDS));
+            }
+            assertSame(expected, slot.get(owner, values));
+            assertEquals(1, computations.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testFailedOnceSlotIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        MemoizedSlots<Object> slots = new MemoizedSlots<>();
+        MemoizedSlots.Slot<Object, String> slot = slots.onceSlot(__ -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return "ok";
+        });
+        Object owner = new Object();
+        AtomicReferenceArray<Object> values = slots.newValues();
+
+        assertThrows(IllegalStateException.class, () -> slot.get(owner, values));
+        assertEquals("ok", slot.get(owner, values));
+        assertEquals("ok", slot.get(owner, values));
+        assertEquals(2, attempts.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.revapi.classland.impl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class MemoizedValueTest {
+
+    @Test
+    void testComputedOnceUnderContention() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MemoizedValue<Object> value = MemoizedValue.memoize(() -> {
+            computations.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return new Object();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            results.add(executor.submit(value::get));
+            started.await();
+            for (int i = 0; i < 7; ++i) {
+                results.add(executor.submit(value::get));
+            }
+            release.countDown();
+
+            Object expected = results.get(0).get();
+            for (Future<Object> f : results) {
+                assertSame(expected, f.get());
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testReentrantCallFromComputingThread() {
+        AtomicReference<MemoizedValue<Object>> self = new AtomicReference<>();
+        AtomicReference<Object> inner = new AtomicReference<>();
+        AtomicInteger depth = new AtomicInteger();
+        self.set(MemoizedValue.memoize(() -> {
+            if (depth.incrementAndGet() == 1) {
+                inner.set(self.get().get());
+            }
+            return new Object();
+        }));
+
+        Object outer = self.get().get();
+
+        assertSame(inner.get(), outer);
+        assertSame(outer, self.get().get());
+    }
+
+    @Test
+    void testFailedComputationIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        MemoizedValue<String> value = MemoizedValue.memoize(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return "ok";
+        });
+
+        assertThrows(IllegalStateException.class, value::get);
+        assertEquals("ok", value.get());
+        assertEquals("ok", value.get());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testSwap() {
+        MemoizedValue<String> value = MemoizedValue.memoize(() -> "a");
+        assertEquals("a", value.swap("b"));
+        assertEquals("b", value.get());
+    }
+
+    @Test
+    void testWaitingAcrossMemoTableDoesNotDeadlock() throws Exception {
+        MemoTable<String, Object> table = new MemoTable<>();
+        CountDownLatch valueComputing = new CountDownLatch(1);
+        AtomicReference<Thread> tableThread = new AtomicReference<>();
+        MemoizedValue<Object> value = MemoizedValue.memoize(() -> {
+            valueComputing.countDown();
+            // wait until the thread computing the table entry waits for us
+            while (tableThread.get() == null || tableThread.get().getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+            return table.get("a", k -> new Object());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> fromValue = executor.submit(value::get);
+            valueComputing.await();
+            Future<Object> fromTable = executor.submit(() -> table.get("a", k -> {
+                tableThread.set(Thread.currentThread());
+                value.get();
+                return new Object();
+            }));
+
+            assertSame(fromValue.get(10, TimeUnit.SECONDS), fromTable.get(10, TimeUnit.SECONDS));
+            assertSame(fromValue.get(), value.get());
+            assertSame(fromValue.get(), table.get("a", k -> new Object()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package annotatedparams;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+public class Params {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marked {
+    }
+
+    public class Inner {
+        public Inner(String first, @Marked int second) {
+        }
+    }
+
+    public enum Kind {
+        VALUE("", 0);
+
+        Kind(@Marked String first, int second) {
+        }
+    }
+}
@@ -29,6 +29,14 @@ public class OverrideTest {
         void interfaceMethod();
     }
 
+    public interface StringFunction extends java.util.function.Function<String, String> {
+        String apply(String s);
+    }
+
+    public interface TwoFunctions extends java.util.function.Function<String, String> {
+        String apply(Integer i);
+    }
+
     public class Overrider extends Base implements Iface {
         public void method() {}
         public String covariantMethod() { return null; }
@@ -78,6 +78,10 @@ public class Annotations {
         void method(java.util.Set<@InvisibleTypeAnno String> p) {}
     }
 
+    public class AnnotatedWildcard {
+        void method(java.util.List<@VisibleTypeAnno ? extends @InvisibleTypeAnno String> p) {}
+    }
+
     public class AnnotatedMethod {
         @VisibleAnno @VisibleTypeAnno
         void method() {}
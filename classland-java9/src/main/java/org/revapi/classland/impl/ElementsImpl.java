@@ -26,7 +26,6 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.ModuleElement;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
-import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 
 import org.revapi.classland.impl.model.element.ModuleElementImpl;
@@ -43,19 +42,17 @@ public class ElementsImpl extends BaseElementsImpl implements Elements {
 
     @Override
     public Set<? extends PackageElement> getAllPackageElements(CharSequence name) {
-        return new HashSet<>(crossModulePackagesByName.apply(name).values());
+        return new HashSet<>(lookup.getPackagesByName(name.toString()).values());
     }
 
     @Override
     public TypeElement getTypeElement(ModuleElement module, CharSequence name) {
-        return ((ModuleElementImpl) module).computePackages().get().values().stream()
-                .flatMap(p -> ElementFilter.typesIn(p.getEnclosedElements()).stream())
-                .filter(t -> t.getQualifiedName().contentEquals(name)).findFirst().orElse(null);
+        return lookup.getTypeByQualifiedNameInModule(name, (ModuleElementImpl) module);
     }
 
     @Override
     public Set<? extends TypeElement> getAllTypeElements(CharSequence name) {
-        return new HashSet<>(crossModuleTypesByFqn.apply(name).values());
+        return new HashSet<>(getTypeElementsInAllModules(name).values());
     }
 
     @Override
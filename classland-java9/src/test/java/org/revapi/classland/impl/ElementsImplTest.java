@@ -16,8 +16,19 @@
  */
 package org.revapi.classland.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+
 import org.junit.jupiter.api.Test;
 import org.revapi.classland.Classland;
+import org.revapi.classland.ClasslandElements;
 
 public class ElementsImplTest {
     // TODO implement
@@ -32,6 +43,51 @@ public class ElementsImplTest {
         // TODO implement
     }
 
+    @Test
+    void testGetTypeElementInModule() throws Exception {
+        try (Classland classland = Classland.builder().withModules(true).withStandardRuntime().build()) {
+            ClasslandElements els = classland.getElements();
+            ModuleElement javaBase = els.getModuleElement("java.base");
+            assertNotNull(javaBase);
+
+            TypeElement map = els.getTypeElement(javaBase, "java.util.Map");
+            assertNotNull(map);
+            assertEquals("java.util.Map", map.getQualifiedName().toString());
+            assertSame(map, els.getTypeElementByBinaryName("java.base", "java.util.Map"));
+
+            TypeElement entry = els.getTypeElement(javaBase, "java.util.Map.Entry");
+            assertNotNull(entry);
+            assertSame(map, entry.getEnclosingElement());
+            assertTrue(map.getEnclosedElements().contains(entry));
+
+            assertNull(els.getTypeElement(javaBase, "java.util.Map$Entry"));
+            assertNull(els.getTypeElement(javaBase, "java.util.NotThere"));
+        }
+    }
+
+    @Test
+    void testTypeLookupFollowsReadability() throws Exception {
+        try (Classland classland = Classland.builder().withModules(true).withStandardRuntime().addModule("java.sql")
+                .withAllReachableModules(true).build()) {
+            ClasslandElements els = classland.getElements();
+
+            TypeElement connection = els.getTypeElementByBinaryName("java.sql", "java.sql.Connection");
+            assertNotNull(connection);
+            assertEquals(TypeKind.DECLARED, connection.asType().getKind());
+
+            // java.sql requires java.xml transitively, so java.sql can see its types
+            TypeElement source = els.getTypeElementByBinaryName("java.sql", "javax.xml.transform.Source");
+            assertNotNull(source);
+            assertEquals(TypeKind.DECLARED, source.asType().getKind());
+            assertSame(els.getModuleElement("java.xml"), els.getModuleOf(source));
+
+            // java.base doesn't read java.sql
+            TypeElement unreachable = els.getTypeElementByBinaryName("java.base", "java.sql.Connection");
+            assertNotNull(unreachable);
+            assertEquals(TypeKind.ERROR, unreachable.asType().getKind());
+        }
+    }
+
     @Test
     void loadModules() {
         Classland classland = Classland.builder().withModules(true).withStandardRuntime().withAllReachableModules(true)
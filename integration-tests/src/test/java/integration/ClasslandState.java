@@ -18,18 +18,17 @@ package integration;
 
 import java.util.jar.JarFile;
 
-import javax.lang.model.util.Elements;
-
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.revapi.classland.Classland;
+import org.revapi.classland.ClasslandElements;
 import org.revapi.classland.archive.jar.JarFileArchive;
 
 @State(Scope.Benchmark)
 public class ClasslandState extends GuavaJar {
-    Elements elements;
+    ClasslandElements elements;
     private Classland classland;
 
     @Setup
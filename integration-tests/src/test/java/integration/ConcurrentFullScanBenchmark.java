@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020-2022 Lukas Krejci
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package integration;
+
+import java.util.jar.JarFile;
+
+import javax.lang.model.util.Elements;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.revapi.classland.Classland;
+import org.revapi.classland.archive.jar.JarFileArchive;
+
+/**
+ * The same traversal as {@link FullScanBenchmark} but done by several threads over a single Classland instance. The
+ * instance is recreated for every iteration so that the threads also race for the lazy initialization of the model.
+ */
+@Threads(8)
+public class ConcurrentFullScanBenchmark {
+    private static final FullScanBenchmark SCAN = new FullScanBenchmark();
+
+    @Benchmark
+    public void classland(FreshClasslandState state, Blackhole hole) {
+        SCAN.readAll(state.elements, hole);
+    }
+
+    @State(Scope.Benchmark)
+    public static class FreshClasslandState extends GuavaJar {
+        Elements elements;
+        private Classland classland;
+
+        @Setup(Level.Iteration)
+        public void setup() throws Exception {
+            classland = Classland.builder().withModules(true).withStandardRuntime()
+                    .addArchive(new JarFileArchive(new JarFile(compiled().jarFile()))).build();
+
+            elements = classland.getElements();
+        }
+
+        @TearDown(Level.Iteration)
+        public void teardown() throws Exception {
+            classland.close();
+            cleanup();
+        }
+    }
+}
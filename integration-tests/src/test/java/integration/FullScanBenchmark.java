@@ -38,6 +38,14 @@ public class FullScanBenchmark {
         readAll(jarFile.elements, hole);
     }
 
+    @Benchmark
+    public void classlandParallel(ClasslandState jarFile, Blackhole hole) throws Exception {
+        jarFile.elements.streamElements(false).parallel().forEach(e -> {
+            hole.consume(e);
+            e.getAnnotationMirrors().forEach(hole::consume);
+        });
+    }
+
     public void readAll(Elements elements, Blackhole hole) {
         Set<? extends ModuleElement> mods = elements.getAllModuleElements();
         int total = 0;